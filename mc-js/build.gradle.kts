@@ -28,6 +28,7 @@ import io.spine.internal.dependency.Spine
 
 plugins {
     `detekt-code-analysis`
+    id("com.github.johnrengelman.shadow")
 }
 
 group = "io.spine.tools"
@@ -44,3 +45,21 @@ dependencies {
     testImplementation(Spine.testlib)
     testImplementation(Spine.pluginTestlib)
 }
+
+/**
+ * Assembles the executable archive of the Model Compiler for JS run as a `protoc` plugin.
+ *
+ * The archive contains all the runtime dependencies and is published with the `exe` classifier,
+ * e.g. `io.spine.tools:spine-mc-js:$version:exe@jar`.
+ */
+tasks.shadowJar {
+    archiveClassifier.set("exe")
+    mergeServiceFiles()
+    manifest {
+        attributes(mapOf("Main-Class" to "io.spine.tools.mc.js.protoc.McJsProtocPlugin"))
+    }
+}
+
+tasks.assemble {
+    dependsOn(tasks.shadowJar)
+}
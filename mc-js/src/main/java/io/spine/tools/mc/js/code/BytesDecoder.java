@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code;
+
+import io.spine.tools.mc.js.code.text.Import;
+import io.spine.tools.mc.js.code.text.Let;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * The way the generated parsers decode the {@code bytes} values.
+ *
+ * <p>The JSON representation of a {@code bytes} value is a base64-encoded {@code string}.
+ *
+ * <p>The code which the decoder needs is {@linkplain #declaration() declared} once
+ * at the module scope of a generated file, so that the parsers do not repeat it
+ * on each call.
+ */
+public enum BytesDecoder {
+
+    /**
+     * Decodes the values using the <a href="https://www.npmjs.com/package/base64-js">base64-js</a>
+     * library, which works both in Node.js and in browsers.
+     *
+     * <p>The library is imported by the generated files.
+     */
+    BASE64_JS {
+        @Override
+        public CodeWriter declaration() {
+            var base64Import = Import.library(BASE64_LIB);
+            return new CodeWriter().append(base64Import.namedAs(BASE64_VAR));
+        }
+
+        @Override
+        public String decode(String value) {
+            checkNotNull(value);
+            return format("%s.toByteArray(%s)", BASE64_VAR, value);
+        }
+    },
+
+    /**
+     * Decodes the values using the {@code Buffer} class of Node.js.
+     */
+    NODE_BUFFER {
+        @Override
+        public CodeWriter declaration() {
+            return new CodeWriter();
+        }
+
+        @Override
+        public String decode(String value) {
+            checkNotNull(value);
+            return format("Buffer.from(%s, 'base64')", value);
+        }
+    },
+
+    /**
+     * Decodes the values using the means of browsers.
+     *
+     * <p>The {@code Uint8Array.fromBase64} function is used if the browser provides it.
+     * Otherwise, the values are decoded by {@code atob}. Both expect the values to use
+     * the standard base64 alphabet.
+     */
+    BROWSER {
+        @Override
+        public CodeWriter declaration() {
+            var decodeFunction =
+                    "typeof Uint8Array.fromBase64 === 'function'"
+                            + " ? function(value) { return Uint8Array.fromBase64(value); }"
+                            + " : function(value) {"
+                            + " return Uint8Array.from(atob(value),"
+                            + " function(c) { return c.charCodeAt(0); }); }";
+            return new CodeWriter().append(Let.withValue(DECODE_FUNCTION, decodeFunction));
+        }
+
+        @Override
+        public String decode(String value) {
+            checkNotNull(value);
+            return format("%s(%s)", DECODE_FUNCTION, value);
+        }
+    };
+
+    /**
+     * The name of <a href="https://www.npmjs.com/package/base64-js">Base-64 JS lib</a> to import.
+     */
+    private static final String BASE64_LIB = "base64-js";
+
+    /**
+     * The name of the "base64-js" import.
+     */
+    private static final String BASE64_VAR = "base64";
+
+    /**
+     * The name of the function decoding values in browsers.
+     */
+    private static final String DECODE_FUNCTION = "decodeBase64";
+
+    /**
+     * Obtains the code to put at the module scope of a file using the decoder.
+     *
+     * <p>The code may be empty if the decoder needs no declarations.
+     */
+    public abstract CodeWriter declaration();
+
+    /**
+     * Obtains the expression decoding the given value.
+     *
+     * @param value
+     *         the expression of the base64-encoded {@code string} to decode
+     */
+    public abstract String decode(String value);
+}
@@ -33,9 +33,13 @@ import io.spine.tools.code.Indent;
 import io.spine.tools.code.IndentedLine;
 import io.spine.tools.code.Line;
 import io.spine.tools.mc.js.code.text.Snippet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -62,9 +66,17 @@ public final class CodeWriter {
     private static final Indent STANDARD_INDENTATION = Indent.of2();
 
     /**
-     * Lines of code already indented previously.
+     * Segments of code already indented previously.
+     *
+     * <p>The list may be {@linkplain #shared shared} with the writers to which this writer
+     * was appended. Such a list is copied before being modified.
      */
-    private final List<IndentedLine> lines;
+    private List<Segment> segments;
+
+    /**
+     * Tells if the {@link #segments} are referenced by another writer.
+     */
+    private boolean shared;
 
     /**
      * The current level of indentation.
@@ -85,15 +97,18 @@ public final class CodeWriter {
      *         the indentation to use
      */
     public CodeWriter(Indent indent) {
-        this.lines = new ArrayList<>();
+        this.segments = new ArrayList<>();
         this.indent = indent;
     }
 
     /**
      * Obtains the string for separating code lines.
+     *
+     * <p>The separator is the {@linkplain GenerationOptions#DEFAULT_LINE_SEPARATOR default}
+     * one, so that the rendered code does not depend on the platform.
      */
     public static String lineSeparator() {
-        return System.lineSeparator();
+        return GenerationOptions.DEFAULT_LINE_SEPARATOR;
     }
 
     /**
@@ -102,7 +117,9 @@ public final class CodeWriter {
      * <p>If the appended lines have different indent level, the level
      * of appended lines is adjusted to match the level of the current lines.
      *
-     * <p>The indent level is adjusted by the difference of the levels.
+     * <p>The indent level is adjusted by the difference of the levels. The lines are not
+     * copied, and the difference is applied when the code is rendered. So, appending
+     * takes the same time no matter how many lines the passed writer has.
      *
      * <p>Writing to the passed writer after this method exists will not have effect
      * on this writer.
@@ -121,10 +138,8 @@ public final class CodeWriter {
         );
         var levelDifference = indent.level() - writer.indent()
                                                      .level();
-        for (var line : writer.lines) {
-            var adjusted = line.adjustLevelBy(levelDifference);
-            append(adjusted);
-        }
+        writer.shared = true;
+        addSegment(new NestedCode(writer.segments, levelDifference));
         return this;
     }
 
@@ -167,10 +182,18 @@ public final class CodeWriter {
         } else {
             indented = IndentedLine.of(indent, line.text());
         }
-        lines.add(indented);
+        addSegment(new SingleLine(indented));
         return this;
     }
 
+    private void addSegment(Segment segment) {
+        if (shared) {
+            segments = new ArrayList<>(segments);
+            shared = false;
+        }
+        segments.add(segment);
+    }
+
     /**
      * Declares a method and prepares the writer for adding its body
      * by increasing the level of indentation.
@@ -362,7 +385,7 @@ public final class CodeWriter {
     @Override
     public String toString() {
         var result =
-                lines.stream()
+                lines().stream()
                         .map(Line::toString)
                         .collect(joining(lineSeparator()));
         return result;
@@ -370,15 +393,120 @@ public final class CodeWriter {
 
     /**
      * Obtains these lines with {@link #lineSeparator()} at the end of each line.
+     *
+     * @deprecated please use {@link #writeTo(Appendable, GenerationOptions)}, which does not
+     *         collect the lines into a new list
      */
+    @Deprecated
     public ImmutableList<String> separated() {
-        var result =
-                lines.stream()
-                        .map(l -> l + lineSeparator())
-                        .collect(toImmutableList());
+        var separator = lineSeparator();
+        var result = codeLines().stream()
+                .map(line -> line + separator)
+                .collect(toImmutableList());
         return result;
     }
 
+    /**
+     * Writes the code lines to the given output formatted according to the given options.
+     *
+     * <p>Each line is terminated with the {@linkplain GenerationOptions#lineSeparator() line
+     * separator} from the options.
+     *
+     * <p>Unlike {@link #codeLines()}, this method does not collect
+     * the lines into a new list. So, the code may be written to a file without holding
+     * another copy of it in memory.
+     *
+     * @param output
+     *         the output to write the code to
+     * @param options
+     *         the options of the written code
+     * @throws IOException
+     *         if the output fails
+     * @see #codeLines(GenerationOptions)
+     */
+    public void writeTo(Appendable output, GenerationOptions options) throws IOException {
+        checkNotNull(output);
+        checkNotNull(options);
+        writeTo(output, new LineFormat(options), segments, 0);
+    }
+
+    private static void writeTo(Appendable output,
+                                LineFormat format,
+                                List<Segment> segments,
+                                int levelDifference) throws IOException {
+        for (var segment : segments) {
+            if (segment instanceof NestedCode) {
+                var nested = (NestedCode) segment;
+                writeTo(output, format, nested.segments,
+                        levelDifference + nested.levelDifference);
+            } else {
+                var line = ((SingleLine) segment).line;
+                var formatted = format.apply(adjusted(line, levelDifference));
+                if (formatted != null) {
+                    output.append(formatted)
+                          .append(format.lineSeparator());
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains the indented code lines without line separators.
+     */
+    public ImmutableList<String> codeLines() {
+        return codeLines(GenerationOptions.defaults());
+    }
+
+    /**
+     * Obtains the code lines formatted according to the given options
+     * without line separators.
+     *
+     * <p>If the options require the {@linkplain GenerationOptions#compact() compact} code,
+     * the lines are not indented, the empty lines are omitted, and each comment is kept
+     * only where it occurs first.
+     */
+    public ImmutableList<String> codeLines(GenerationOptions options) {
+        checkNotNull(options);
+        var format = new LineFormat(options);
+        var result = ImmutableList.<String>builder();
+        for (var line : lines()) {
+            var formatted = format.apply(line);
+            if (formatted != null) {
+                result.add(formatted);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the code lines with the indentation of the nested code adjusted.
+     */
+    private ImmutableList<IndentedLine> lines() {
+        var result = ImmutableList.<IndentedLine>builder();
+        collectLines(segments, 0, result);
+        return result.build();
+    }
+
+    private static void collectLines(List<Segment> segments,
+                                     int levelDifference,
+                                     ImmutableList.Builder<IndentedLine> result) {
+        for (var segment : segments) {
+            if (segment instanceof NestedCode) {
+                var nested = (NestedCode) segment;
+                collectLines(nested.segments, levelDifference + nested.levelDifference, result);
+            } else {
+                var line = ((SingleLine) segment).line;
+                result.add(adjusted(line, levelDifference));
+            }
+        }
+    }
+
+    private static IndentedLine adjusted(IndentedLine line, int levelDifference) {
+        return levelDifference == 0
+               ? line
+               : line.adjustLevelBy(levelDifference);
+    }
+
     @VisibleForTesting
     int currentDepth() {
         return indent.level();
@@ -397,12 +525,87 @@ public final class CodeWriter {
         if (!(o instanceof CodeWriter)) {
             return false;
         }
-        var lines = (CodeWriter) o;
-        return this.lines.equals(lines.lines);
+        var other = (CodeWriter) o;
+        return lines().equals(other.lines());
     }
 
     @Override
     public int hashCode() {
-        return lines.hashCode();
+        return lines().hashCode();
+    }
+
+    /**
+     * A part of the code of a writer.
+     */
+    private interface Segment {
+    }
+
+    /**
+     * A line added to a writer.
+     */
+    private static final class SingleLine implements Segment {
+
+        private final IndentedLine line;
+
+        private SingleLine(IndentedLine line) {
+            this.line = line;
+        }
+    }
+
+    /**
+     * The code of another writer appended to a writer.
+     *
+     * <p>The indentation level of the lines is adjusted by the difference when
+     * the code is rendered.
+     */
+    private static final class NestedCode implements Segment {
+
+        private final List<Segment> segments;
+        private final int levelDifference;
+
+        private NestedCode(List<Segment> segments, int levelDifference) {
+            this.segments = segments;
+            this.levelDifference = levelDifference;
+        }
+    }
+
+    /**
+     * Formats the lines of a writer according to the generation options.
+     *
+     * <p>The format remembers the comments it has seen, so a new instance is used
+     * for each rendering of the code.
+     */
+    private static final class LineFormat {
+
+        private static final String COMMENT_START = "//";
+
+        private final GenerationOptions options;
+        private final Set<String> comments = new HashSet<>();
+
+        private LineFormat(GenerationOptions options) {
+            this.options = options;
+        }
+
+        /**
+         * Obtains the text of the line to render or {@code null} if the line is omitted.
+         */
+        private @Nullable String apply(IndentedLine line) {
+            var text = line.toString();
+            if (!options.compact()) {
+                return text;
+            }
+            var stripped = text.strip();
+            if (stripped.isEmpty()) {
+                return null;
+            }
+            if (stripped.startsWith(COMMENT_START) && !comments.add(stripped)) {
+                return null;
+            }
+            return stripped;
+        }
+
+        private String lineSeparator() {
+            return options.lineSeparator();
+        }
     }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code;
+
+import com.google.common.base.MoreObjects;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Options affecting the form of the generated JavaScript code.
+ *
+ * <p>The same options always produce the same code for the same Protobuf files.
+ */
+@Immutable
+public final class GenerationOptions implements Serializable {
+
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * The line separator used by default.
+     */
+    public static final String DEFAULT_LINE_SEPARATOR = "\n";
+
+    /**
+     * The number of fields above which the parsers iterate the keys of a parsed object
+     * by default.
+     */
+    public static final int DEFAULT_KEY_DISPATCH_THRESHOLD = 32;
+
+    private static final GenerationOptions DEFAULTS = newBuilder().build();
+
+    private final String lineSeparator;
+    private final boolean compact;
+    private final BytesDecoder bytesDecoder;
+    private final int keyDispatchThreshold;
+    private final UnknownEnumValue unknownEnumValue;
+    private final boolean rawFieldWrites;
+
+    private GenerationOptions(Builder builder) {
+        this.lineSeparator = builder.lineSeparator;
+        this.compact = builder.compact;
+        this.bytesDecoder = builder.bytesDecoder;
+        this.keyDispatchThreshold = builder.keyDispatchThreshold;
+        this.unknownEnumValue = builder.unknownEnumValue;
+        this.rawFieldWrites = builder.rawFieldWrites;
+    }
+
+    /**
+     * Obtains the options with the default values.
+     */
+    public static GenerationOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Obtains the string which separates the lines of the generated files.
+     */
+    public String lineSeparator() {
+        return lineSeparator;
+    }
+
+    /**
+     * Tells if the generated code should be compact.
+     *
+     * <p>The compact code is not indented, has no empty lines, and has each comment only
+     * where it occurs first in a generated piece of code.
+     */
+    public boolean compact() {
+        return compact;
+    }
+
+    /**
+     * Obtains the way the generated parsers decode the {@code bytes} values.
+     */
+    public BytesDecoder bytesDecoder() {
+        return bytesDecoder;
+    }
+
+    /**
+     * Obtains the number of fields above which the parser of a message iterates the keys
+     * present in a parsed object instead of checking each field of the message.
+     *
+     * <p>The parsers of the messages with many fields, of which only a few are usually set,
+     * thus do not probe the object for each absent field.
+     */
+    public int keyDispatchThreshold() {
+        return keyDispatchThreshold;
+    }
+
+    /**
+     * Obtains the way the generated parsers handle the unknown {@code enum} values.
+     */
+    public UnknownEnumValue unknownEnumValue() {
+        return unknownEnumValue;
+    }
+
+    /**
+     * Tells if the generated parsers write the values of the scalar fields directly into
+     * the storage array of a message instead of calling the setters.
+     *
+     * <p>The direct writes rely on the following assumptions about the JavaScript code
+     * generated by {@code protoc} and the {@code google-protobuf} runtime:
+     * <ul>
+     *     <li>a message stores the value of a field in its {@code array} property
+     *         at the index of the field number minus one, i.e. the messages have no
+     *         message ID and store no fields in an extension object;
+     *     <li>the setters of the scalar fields do nothing except storing the value.
+     * </ul>
+     *
+     * <p>The values of the {@code message} and {@code map} fields, as well as of the fields
+     * belonging to a {@code oneof}, are always set via the setters, since the setters maintain
+     * the wrapper objects and the {@code oneof} cases.
+     *
+     * <p>Unlike the setters, the direct writes store the default values of the fields as is
+     * rather than as {@code null}. The getters and the serialization treat both the same.
+     */
+    public boolean rawFieldWrites() {
+        return rawFieldWrites;
+    }
+
+    /**
+     * Creates a new builder of the options.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GenerationOptions)) {
+            return false;
+        }
+        var other = (GenerationOptions) o;
+        return lineSeparator.equals(other.lineSeparator)
+                && compact == other.compact
+                && bytesDecoder == other.bytesDecoder
+                && keyDispatchThreshold == other.keyDispatchThreshold
+                && unknownEnumValue == other.unknownEnumValue
+                && rawFieldWrites == other.rawFieldWrites;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lineSeparator, compact, bytesDecoder, keyDispatchThreshold,
+                            unknownEnumValue, rawFieldWrites);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("lineSeparator", lineSeparator.replace("\r", "\\r")
+                                                             .replace("\n", "\\n"))
+                          .add("compact", compact)
+                          .add("bytesDecoder", bytesDecoder)
+                          .add("keyDispatchThreshold", keyDispatchThreshold)
+                          .add("unknownEnumValue", unknownEnumValue)
+                          .add("rawFieldWrites", rawFieldWrites)
+                          .toString();
+    }
+
+    /**
+     * A builder of {@code GenerationOptions}.
+     */
+    public static final class Builder {
+
+        private String lineSeparator = DEFAULT_LINE_SEPARATOR;
+        private boolean compact = false;
+        private BytesDecoder bytesDecoder = BytesDecoder.BASE64_JS;
+        private int keyDispatchThreshold = DEFAULT_KEY_DISPATCH_THRESHOLD;
+        private UnknownEnumValue unknownEnumValue = UnknownEnumValue.UNDEFINED;
+        private boolean rawFieldWrites = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the string which separates the lines of the generated files.
+         *
+         * <p>The separator must be either {@code "\n"} or {@code "\r\n"}.
+         */
+        @CanIgnoreReturnValue
+        public Builder withLineSeparator(String lineSeparator) {
+            checkNotNull(lineSeparator);
+            checkArgument("\n".equals(lineSeparator) || "\r\n".equals(lineSeparator),
+                          "Unsupported line separator: `%s`.",
+                          lineSeparator.replace("\r", "\\r").replace("\n", "\\n"));
+            this.lineSeparator = lineSeparator;
+            return this;
+        }
+
+        /**
+         * Sets if the generated code should be {@linkplain GenerationOptions#compact() compact}.
+         */
+        @CanIgnoreReturnValue
+        public Builder withCompact(boolean compact) {
+            this.compact = compact;
+            return this;
+        }
+
+        /**
+         * Sets the way the generated parsers decode the {@code bytes} values.
+         */
+        @CanIgnoreReturnValue
+        public Builder withBytesDecoder(BytesDecoder bytesDecoder) {
+            this.bytesDecoder = checkNotNull(bytesDecoder);
+            return this;
+        }
+
+        /**
+         * Sets the number of fields above which the parsers
+         * {@linkplain GenerationOptions#keyDispatchThreshold() iterate the keys} of
+         * a parsed object.
+         *
+         * <p>The threshold must not be negative. {@link Integer#MAX_VALUE} turns
+         * the iteration of the keys off.
+         */
+        @CanIgnoreReturnValue
+        public Builder withKeyDispatchThreshold(int keyDispatchThreshold) {
+            checkArgument(keyDispatchThreshold >= 0,
+                          "The key dispatch threshold must not be negative, but was %s.",
+                          keyDispatchThreshold);
+            this.keyDispatchThreshold = keyDispatchThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the way the generated parsers handle the unknown {@code enum} values.
+         */
+        @CanIgnoreReturnValue
+        public Builder withUnknownEnumValue(UnknownEnumValue unknownEnumValue) {
+            this.unknownEnumValue = checkNotNull(unknownEnumValue);
+            return this;
+        }
+
+        /**
+         * Sets if the generated parsers write the values of the scalar fields
+         * {@linkplain GenerationOptions#rawFieldWrites() directly} into the messages.
+         */
+        @CanIgnoreReturnValue
+        public Builder withRawFieldWrites(boolean rawFieldWrites) {
+            this.rawFieldWrites = rawFieldWrites;
+            return this;
+        }
+
+        /**
+         * Creates the options.
+         */
+        public GenerationOptions build() {
+            return new GenerationOptions(this);
+        }
+    }
+}
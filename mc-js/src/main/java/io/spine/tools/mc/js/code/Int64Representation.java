@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.DescriptorProtos.FieldOptions.JSType.JS_STRING;
+import static java.lang.String.format;
+
+/**
+ * The JavaScript representation of the 64-bit integer values parsed by the generated parsers.
+ *
+ * <p>The JSON representation of the 64-bit integers is a decimal {@code string}, although
+ * some producers write them as numbers. Each representation checks the type of the parsed
+ * value first and skips the conversion if the value is already of the target type.
+ *
+ * <p>The representation of a field matches the one of the accessors generated by
+ * {@code protoc} for the field. It is defined by the {@code jstype} option of the field.
+ *
+ * @see #of(FieldDescriptor)
+ */
+public enum Int64Representation {
+
+    /**
+     * Represents the values as JavaScript numbers.
+     *
+     * <p>The values above 2<sup>53</sup> lose precision.
+     *
+     * <p>This representation matches the fields with the default {@code jstype} and
+     * the fields declared with the {@code jstype = JS_NUMBER} option.
+     */
+    NUMBER("number", "parseInt(%s)"),
+
+    /**
+     * Represents the values as decimal strings, preserving all the digits.
+     *
+     * <p>This representation matches the fields declared with the {@code jstype = JS_STRING}
+     * option.
+     */
+    STRING("string", "String(%s)");
+
+    private final String jsType;
+    private final String conversionFormat;
+
+    Int64Representation(String jsType, String conversionFormat) {
+        this.jsType = jsType;
+        this.conversionFormat = conversionFormat;
+    }
+
+    /**
+     * Obtains the representation of the values of the given field.
+     *
+     * <p>The values of the fields declared with {@code jstype = JS_STRING} are represented
+     * as strings. The values of other fields are represented as numbers.
+     */
+    public static Int64Representation of(FieldDescriptor field) {
+        checkNotNull(field);
+        var jsType = field.getOptions()
+                          .getJstype();
+        return jsType == JS_STRING
+               ? STRING
+               : NUMBER;
+    }
+
+    /**
+     * Obtains the expression converting the given value into this representation.
+     *
+     * @param value
+     *         the expression of the value to convert
+     */
+    public String convert(String value) {
+        checkNotNull(value);
+        var conversion = format(conversionFormat, value);
+        return format("typeof %s === '%s' ? %s : %s", value, jsType, value, conversion);
+    }
+}
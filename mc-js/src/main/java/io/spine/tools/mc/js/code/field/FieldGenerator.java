@@ -32,8 +32,10 @@ import io.spine.tools.mc.js.code.JsCodeGenerator;
 import io.spine.tools.mc.js.code.field.parser.Parser;
 import io.spine.tools.mc.js.code.field.precondition.FieldPrecondition;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
 import static java.lang.String.format;
 
 /**
@@ -54,15 +56,23 @@ public abstract class FieldGenerator extends JsCodeGenerator {
     @VisibleForTesting
     static final String FIELD_VALUE = "value";
 
+    /**
+     * The lowest field number which {@code protoc} keeps outside the message array
+     * by default.
+     */
+    private static final int DEFAULT_PIVOT = 500;
+
     private final FieldToParse field;
     private final FieldPrecondition precondition;
     private final Parser parser;
+    private final GenerationOptions options;
 
     FieldGenerator(Builder<?> builder) {
         super(builder.writer);
         this.field = builder.field;
         this.precondition = builder.precondition;
         this.parser = builder.parser;
+        this.options = builder.options;
     }
 
     /**
@@ -98,6 +108,13 @@ public abstract class FieldGenerator extends JsCodeGenerator {
         return field.descriptor();
     }
 
+    /**
+     * Obtains the parser of the field values.
+     */
+    Parser parser() {
+        return parser;
+    }
+
     /**
      * Obtains the name of the variable to set the field value on.
      */
@@ -105,6 +122,42 @@ public abstract class FieldGenerator extends JsCodeGenerator {
         return field.messageVariable();
     }
 
+    /**
+     * Tells if the field value is written directly into the storage array of the message.
+     *
+     * <p>The direct writes are made only if {@linkplain GenerationOptions#rawFieldWrites()
+     * enabled}, and only for the fields whose setters do nothing but storing the value.
+     * These are the fields of scalar types, which do not belong to a {@code oneof}.
+     *
+     * <p>The fields stored outside the array are also set via the setter. {@code protoc}
+     * assigns a pivot to the extendable messages and to the messages having fields numbered
+     * {@value #DEFAULT_PIVOT} or above. The fields at or above the pivot are kept in
+     * the extension object of the message instead of the array.
+     */
+    boolean writesRaw() {
+        var descriptor = field();
+        return options.rawFieldWrites()
+                && descriptor.getJavaType() != MESSAGE
+                && descriptor.getContainingOneof() == null
+                && isStoredInArray(descriptor);
+    }
+
+    private static boolean isStoredInArray(FieldDescriptor field) {
+        var message = field.getContainingType();
+        return !message.isExtendable() && field.getNumber() < DEFAULT_PIVOT;
+    }
+
+    /**
+     * Obtains the statement writing the given value directly into the storage array of
+     * the message.
+     *
+     * @see #writesRaw()
+     */
+    String rawWrite(String value) {
+        var index = field().getNumber() - 1;
+        return format("%s.array[%d] = %s;", targetVariable(), index, value);
+    }
+
     /**
      * Generates the code which calls the field merge action on the specified value.
      *
@@ -144,6 +197,7 @@ public abstract class FieldGenerator extends JsCodeGenerator {
         private FieldPrecondition precondition;
         private Parser parser;
         private CodeWriter writer;
+        private GenerationOptions options = GenerationOptions.defaults();
 
         B setField(FieldToParse field) {
             this.field = checkNotNull(field);
@@ -165,6 +219,11 @@ public abstract class FieldGenerator extends JsCodeGenerator {
             return self();
         }
 
+        B setOptions(GenerationOptions options) {
+            this.options = checkNotNull(options);
+            return self();
+        }
+
         /**
          * Must return {@code this} in classes-descendants.
          */
@@ -30,6 +30,7 @@ import com.google.protobuf.Descriptors.FieldDescriptor;
 import io.spine.tools.mc.js.code.field.parser.Parser;
 import io.spine.tools.mc.js.code.field.precondition.FieldPrecondition;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.code.proto.FieldTypes.isMap;
@@ -58,16 +59,33 @@ public final class FieldGenerators {
      * @return the new {@code FieldGenerator} of the appropriate type
      */
     public static FieldGenerator createFor(FieldToParse field, CodeWriter writer) {
+        return createFor(field, writer, GenerationOptions.defaults());
+    }
+
+    /**
+     * Creates a {@code FieldGenerator} for the given field.
+     *
+     * @param field
+     *         the field to parse and set for a message
+     * @param writer
+     *         the {@code JsOutput} to accumulate all the generated code
+     * @param options
+     *         the options of the generated code
+     * @return the new {@code FieldGenerator} of the appropriate type
+     */
+    public static FieldGenerator
+    createFor(FieldToParse field, CodeWriter writer, GenerationOptions options) {
         checkNotNull(field);
         checkNotNull(writer);
+        checkNotNull(options);
         var descriptor = field.descriptor();
         if (isMap(descriptor)) {
-            return mapGenerator(field, writer);
+            return mapGenerator(field, writer, options);
         }
         if (isRepeated(descriptor)) {
-            return repeatedGenerator(field, writer);
+            return repeatedGenerator(field, writer, options);
         }
-        return singularGenerator(field, writer);
+        return singularGenerator(field, writer, options);
     }
 
     /**
@@ -84,10 +102,11 @@ public final class FieldGenerators {
      * always converted to a {@code string}. So we create additional {@code FieldParser} for
      * the {@code ...Entry} {@code "key"} field.
      */
-    private static FieldGenerator mapGenerator(FieldToParse field, CodeWriter writer) {
+    private static FieldGenerator
+    mapGenerator(FieldToParse field, CodeWriter writer, GenerationOptions options) {
         var descriptor = field.descriptor();
-        var keyParser = mapKeyParser(descriptor, writer);
-        var valueParser = mapValueParser(descriptor, writer);
+        var keyParser = mapKeyParser(descriptor, writer, options);
+        var valueParser = mapValueParser(descriptor, writer, options);
         var valuePrecondition = mapValuePrecondition(descriptor, writer);
 
         FieldGenerator generator = MapFieldGenerator.newBuilder()
@@ -96,6 +115,7 @@ public final class FieldGenerators {
                 .setKeyParser(keyParser)
                 .setParser(valueParser)
                 .setWriter(writer)
+                .setOptions(options)
                 .build();
         return generator;
     }
@@ -103,15 +123,17 @@ public final class FieldGenerators {
     /**
      * Creates a {@linkplain RepeatedFieldGenerator generator} for the {@code repeated} proto field.
      */
-    private static FieldGenerator repeatedGenerator(FieldToParse field, CodeWriter writer) {
+    private static FieldGenerator
+    repeatedGenerator(FieldToParse field, CodeWriter writer, GenerationOptions options) {
         var descriptor = field.descriptor();
         var precondition = preconditionFor(descriptor, writer);
-        var parser = Parser.createFor(descriptor, writer);
+        var parser = Parser.createFor(descriptor, writer, options);
         FieldGenerator generator = RepeatedFieldGenerator.newBuilder()
                 .setField(field)
                 .setPrecondition(precondition)
                 .setParser(parser)
                 .setWriter(writer)
+                .setOptions(options)
                 .build();
         return generator;
     }
@@ -119,15 +141,17 @@ public final class FieldGenerators {
     /**
      * Creates a {@linkplain SingularFieldGenerator generator} for the ordinary proto field.
      */
-    private static FieldGenerator singularGenerator(FieldToParse field, CodeWriter writer) {
+    private static FieldGenerator
+    singularGenerator(FieldToParse field, CodeWriter writer, GenerationOptions options) {
         var descriptor = field.descriptor();
         var precondition = preconditionFor(descriptor, writer);
-        var parser = Parser.createFor(descriptor, writer);
+        var parser = Parser.createFor(descriptor, writer, options);
         FieldGenerator generator = SingularFieldGenerator.newBuilder()
                 .setField(field)
                 .setPrecondition(precondition)
                 .setParser(parser)
                 .setWriter(writer)
+                .setOptions(options)
                 .build();
         return generator;
     }
@@ -145,18 +169,20 @@ public final class FieldGenerators {
     /**
      * Creates a {@code FieldParser} for the key of the map field.
      */
-    private static Parser mapKeyParser(FieldDescriptor field, CodeWriter writer) {
+    private static Parser
+    mapKeyParser(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
         var keyDescriptor = keyDescriptor(field);
-        var parser = Parser.createFor(keyDescriptor, writer);
+        var parser = Parser.createFor(keyDescriptor, writer, options);
         return parser;
     }
 
     /**
      * Creates a {@code FieldParser} for the value of the map field.
      */
-    private static Parser mapValueParser(FieldDescriptor field, CodeWriter writer) {
+    private static Parser
+    mapValueParser(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
         var valueDescriptor = valueDescriptor(field);
-        var parser = Parser.createFor(valueDescriptor, writer);
+        var parser = Parser.createFor(valueDescriptor, writer, options);
         return parser;
     }
 }
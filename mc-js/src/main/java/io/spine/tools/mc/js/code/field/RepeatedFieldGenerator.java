@@ -28,12 +28,18 @@ package io.spine.tools.mc.js.code.field;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.spine.tools.js.code.FieldName;
+import io.spine.tools.mc.js.code.text.Let;
+
+import static java.lang.String.format;
 
 /**
  * The generator for the {@code repeated} Protobuf fields.
  *
- * <p>The generator expects a JS object to always be a list, iterating over it and adding its
- * values to the field.
+ * <p>The generator expects a JS object to always be a list, iterating over it and collecting
+ * the parsed values to an array. The field is then set to the array at once, which avoids
+ * calling the {@code add...} method of the message for each item.
+ *
+ * <p>If the items need no parsing, the list is copied as is, skipping its {@code null} items.
  *
  * <p>Although the {@code map} fields are technically also {@code repeated}, they are not handled
  * by this class.
@@ -46,6 +52,17 @@ final class RepeatedFieldGenerator extends FieldGenerator {
     @VisibleForTesting
     static final String LIST_ITEM = "listItem";
 
+    /**
+     * The variable holding the array of the parsed list items.
+     */
+    @VisibleForTesting
+    static final String LIST_VALUES = "listValues";
+
+    /**
+     * The variable holding the index of the list item during the JS object iteration.
+     */
+    private static final String INDEX = "index";
+
     private RepeatedFieldGenerator(Builder builder) {
         super(builder);
     }
@@ -53,6 +70,10 @@ final class RepeatedFieldGenerator extends FieldGenerator {
     @Override
     public void generate() {
         var fieldValue = acquireFieldValue();
+        if (parser().isIdentity()) {
+            copyListValues(fieldValue);
+            return;
+        }
         iterateListValues(fieldValue);
         mergeFieldValue(LIST_ITEM);
         exitListValueIteration();
@@ -61,14 +82,12 @@ final class RepeatedFieldGenerator extends FieldGenerator {
     /**
      * {@inheritDoc}
      *
-     * <p>The merge format for the {@code repeated} field is calling the {@code add...} method on
-     * the repeated field JS representation.
+     * <p>The merge format for the {@code repeated} field is adding the value to the array of
+     * the parsed list items.
      */
     @Override
     String mergeFormat() {
-        var fieldName = FieldName.from(field());
-        var addFunctionName = "add" + fieldName;
-        var addToListFormat = targetVariable() + '.' + addFunctionName + "(%s);";
+        var addToListFormat = LIST_VALUES + ".push(%s);";
         return addToListFormat;
     }
 
@@ -82,24 +101,60 @@ final class RepeatedFieldGenerator extends FieldGenerator {
      */
     @VisibleForTesting
     void iterateListValues(String jsObject) {
+        var loopHeader = format("for (let %s = 0, length = %s.length; %s < length; %s++)",
+                                INDEX, jsObject, INDEX, INDEX);
         writer().ifNotNullOrUndefined(jsObject)
-                .append(jsObject + ".forEach(")
-                .increaseDepth()
-                .enterBlock('(' + LIST_ITEM + ", index, array) =>");
+                .append(Let.withValue(LIST_VALUES, "[]"))
+                .enterBlock(loopHeader)
+                .append(Let.withValue(LIST_ITEM, format("%s[%s]", jsObject, INDEX)));
     }
 
     /**
-     * Generates the code to exit all blocks entered during the JS object iteration.
+     * Generates the code to exit all blocks entered during the JS object iteration and
+     * to set the field to the parsed list items.
      *
      * <p>Returns the cursor to the {@code fromObject} method level.
      */
     private void exitListValueIteration() {
         writer().exitBlock()
-                .decreaseDepth()
-                .append(");")
+                .append(setList(LIST_VALUES))
                 .exitBlock();
     }
 
+    /**
+     * Generates the code setting the field to a copy of the given {@code jsObject} assuming
+     * it is a list of values which need no parsing.
+     *
+     * <p>The {@code null} items are skipped, as they are when the list is iterated.
+     * The list is scanned for them natively, so the common case of a list with no
+     * {@code null} items costs a single copy.
+     *
+     * @param jsObject
+     *         the name of the variable holding the JS object to copy
+     */
+    private void copyListValues(String jsObject) {
+        var copy = format("%s.indexOf(null) < 0 ? %s.slice() "
+                                  + ": %s.filter(function(item) { return item !== null; })",
+                          jsObject, jsObject, jsObject);
+        writer().ifNotNullOrUndefined(jsObject)
+                .append(setList(copy))
+                .exitBlock();
+    }
+
+    /**
+     * Obtains the code setting the field to the given array.
+     *
+     * <p>The array is written {@linkplain #writesRaw() directly} into the message if possible.
+     */
+    private String setList(String array) {
+        if (writesRaw()) {
+            return rawWrite(array);
+        }
+        var fieldName = FieldName.from(field());
+        var setterName = "set" + fieldName + "List";
+        return format("%s.%s(%s);", targetVariable(), setterName, array);
+    }
+
     static Builder newBuilder() {
         return new Builder();
     }
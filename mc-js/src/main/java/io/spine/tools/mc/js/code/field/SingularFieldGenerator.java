@@ -49,10 +49,14 @@ final class SingularFieldGenerator extends FieldGenerator {
      * {@inheritDoc}
      *
      * <p>The merge format for a singular field is just calling the corresponding field setter on
-     * the message object.
+     * the message object, or writing the value {@linkplain #writesRaw() directly} into
+     * the message.
      */
     @Override
     String mergeFormat() {
+        if (writesRaw()) {
+            return rawWrite("%s");
+        }
         var fieldName = FieldName.from(field());
         var setterName = "set" + fieldName;
         var setFieldFormat = targetVariable() + '.' + setterName + "(%s);";
@@ -27,8 +27,10 @@
 package io.spine.tools.mc.js.code.field.parser;
 
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
 
 /**
  * The common base for the {@link Parser} implementations.
@@ -36,13 +38,43 @@ import static com.google.common.base.Preconditions.checkNotNull;
 abstract class AbstractParser implements Parser {
 
     private final CodeWriter writer;
+    private final GenerationOptions options;
 
-    AbstractParser(CodeWriter writer) {
+    AbstractParser(CodeWriter writer, GenerationOptions options) {
         this.writer = checkNotNull(writer);
+        this.options = checkNotNull(options);
     }
 
     @Override
     public CodeWriter writer() {
         return writer;
     }
+
+    /**
+     * Obtains the options of the generated code.
+     */
+    GenerationOptions options() {
+        return options;
+    }
+
+    /**
+     * Obtains the expression converting the given value into a JavaScript number.
+     *
+     * <p>The value is taken as is if it is already a number. Otherwise, it is converted by
+     * {@code Number}, which accepts the fractional and the special floating point values.
+     */
+    static String toNumber(String value) {
+        return format("typeof %s === 'number' ? %s : Number(%s)", value, value, value);
+    }
+
+    /**
+     * Obtains the expression converting the given value into a JavaScript integer.
+     *
+     * <p>The value is taken as is if it is already a number. Otherwise, it is parsed by
+     * {@code parseInt}, so a string never turns into a fractional number, and an empty
+     * string turns into {@code NaN} rather than {@code 0}.
+     */
+    static String toInteger(String value) {
+        return format("typeof %s === 'number' ? %s : parseInt(%s, 10)", value, value, value);
+    }
 }
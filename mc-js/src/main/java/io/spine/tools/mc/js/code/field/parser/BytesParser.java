@@ -26,9 +26,8 @@
 
 package io.spine.tools.mc.js.code.field.parser;
 
-import com.google.common.annotations.VisibleForTesting;
 import io.spine.tools.mc.js.code.CodeWriter;
-import io.spine.tools.mc.js.code.text.Import;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.text.Let;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -38,38 +37,22 @@ import static com.google.common.base.Preconditions.checkNotNull;
  *
  * <p>The JSON representation of the {@code bytes} value is the base-64 encoded {@code string}.
  *
- * <p>The parser thus imports the "base64" lib and decodes the value.
+ * <p>The parser thus decodes the value using the {@linkplain GenerationOptions#bytesDecoder()
+ * configured} decoder. The code the decoder relies on is expected to be
+ * {@linkplain io.spine.tools.mc.js.code.BytesDecoder#declaration() declared} at the module
+ * scope of the generated file.
  */
 final class BytesParser extends AbstractParser {
 
-    /**
-     * The name of <a href="https://www.npmjs.com/package/base64-js">Base-64 JS lib</a> to import.
-     */
-    @VisibleForTesting
-    static final String BASE64_LIB = "base64-js";
-
-    /**
-     * The name of the "base64-js" import.
-     */
-    @VisibleForTesting
-    static final String BASE64_VAR = "base64";
-
-    BytesParser(CodeWriter writer) {
-        super(writer);
+    BytesParser(CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
     }
 
     @Override
     public void parseIntoVariable(String value, String variable) {
         checkNotNull(value);
         checkNotNull(variable);
-        var base64Import = Import.library(BASE64_LIB);
-        writer().append(base64Import.namedAs(BASE64_VAR))
-                .append(parsedVariable(variable, value));
-    }
-
-    @SuppressWarnings("DuplicateStringLiteralInspection") // Necessary duplication with own test.
-    private static Let parsedVariable(String name, String valueToParse) {
-        var initializer = BASE64_VAR + ".toByteArray(" + valueToParse + ')';
-        return Let.withValue(name, initializer);
+        var decoder = options().bytesDecoder();
+        writer().append(Let.withValue(variable, decoder.decode(value)));
     }
 }
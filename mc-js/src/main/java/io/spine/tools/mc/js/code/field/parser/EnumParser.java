@@ -28,18 +28,25 @@ package io.spine.tools.mc.js.code.field.parser;
 
 import com.google.protobuf.Descriptors.EnumDescriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
-import io.spine.tools.js.code.TypeName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.text.EnumTable;
 import io.spine.tools.mc.js.code.text.Let;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.tools.mc.js.code.UnknownEnumValue.DEFAULT_VALUE;
+import static io.spine.tools.mc.js.code.UnknownEnumValue.UNDEFINED;
+import static java.lang.String.format;
 
 /**
  * The value parser for the proto fields of {@code enum} type.
+ *
+ * <p>The parser looks the value up in the {@linkplain EnumTable lookup table} of the enum,
+ * which is expected to be declared in the generated file.
  */
 final class EnumParser extends AbstractParser {
 
-    private final TypeName typeName;
+    private final EnumDescriptor enumType;
 
     /**
      * Creates a new {@code EnumFieldParser} for the given field.
@@ -48,30 +55,57 @@ final class EnumParser extends AbstractParser {
      *         the processed field
      * @param writer
      *         the output to store the generated code
+     * @param options
+     *         the options of the generated code
      */
-    EnumParser(FieldDescriptor field, CodeWriter writer) {
-        super(writer);
+    EnumParser(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
         checkNotNull(field);
-        var enumType = field.getEnumType();
-        this.typeName = TypeName.from(enumType);
+        this.enumType = field.getEnumType();
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>The {@code enum} proto value in JSON is represented as a plain {@code string}.
-     * Thus, the parser obtains the JS enum object property using the given {@code string} as
-     * an attribute name.
+     * <p>The {@code enum} proto value in JSON is represented either as a {@code string} with
+     * the name of the value, or as a number of the value. Both are looked up in the table of
+     * the enum.
+     *
+     * <p>The values missing in the table are handled according to
+     * the {@linkplain GenerationOptions#unknownEnumValue() options}.
      */
     @Override
     public void parseIntoVariable(String value, String variable) {
         checkNotNull(value);
         checkNotNull(variable);
-        writer().append(parsedValue(variable, value));
+        var lookup = format("%s[%s]", EnumTable.variableName(enumType), value);
+        writer().append(Let.withValue(variable, lookup));
+        var unknownValue = options().unknownEnumValue();
+        if (unknownValue == UNDEFINED) {
+            return;
+        }
+        var handleUnknown = unknownValue == DEFAULT_VALUE
+                            ? format("%s = %d;", variable, defaultValue())
+                            : throwUnknown(value);
+        writer().enterIfBlock(variable + " === undefined")
+                .append(handleUnknown)
+                .exitBlock();
+    }
+
+    /**
+     * Obtains the statement throwing an error about the unknown value.
+     */
+    private String throwUnknown(String value) {
+        return format("throw new Error('Unknown value `' + %s + '` of the enum `%s`.');",
+                      value, enumType.getFullName());
     }
 
-    private Let parsedValue(String name, String valueToParse) {
-        var initializer = typeName.value() + '[' + valueToParse + ']';
-        return Let.withValue(name, initializer);
+    /**
+     * Obtains the number of the default value of the enum, which is its first value.
+     */
+    private int defaultValue() {
+        return enumType.getValues()
+                       .get(0)
+                       .getNumber();
     }
 }
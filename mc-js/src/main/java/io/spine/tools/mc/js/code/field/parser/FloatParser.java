@@ -27,6 +27,7 @@
 package io.spine.tools.mc.js.code.field.parser;
 
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.text.Let;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -34,13 +35,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * The generator of the code parsing the floating point values from their JSON representation.
  *
- * <p>The parser uses the {@code parseFloat} operation on the value to obtain the original floating
- * point number.
+ * <p>The JSON representation of a floating point value is either a number or a {@code string},
+ * such as {@code "1.5"} or one of the special {@code "NaN"}, {@code "Infinity"} and
+ * {@code "-Infinity"} values. The numbers are taken as is, and the strings are converted by
+ * {@code Number}, which handles the special values too.
  */
 final class FloatParser extends AbstractParser {
 
-    FloatParser(CodeWriter writer) {
-        super(writer);
+    FloatParser(CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
     }
 
     @Override
@@ -51,7 +54,6 @@ final class FloatParser extends AbstractParser {
     }
 
     private static Let parsedVariable(String name, String valueToParse) {
-        var initializer = "parseFloat(" + valueToParse + ')';
-        return Let.withValue(name, initializer);
+        return Let.withValue(name, toNumber(valueToParse));
     }
 }
@@ -27,6 +27,7 @@
 package io.spine.tools.mc.js.code.field.parser;
 
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.text.Let;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -34,15 +35,20 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * The generator of the code for parsing proto value from the JSON to itself.
  *
- * <p>The number of Proto types like {@code int32}, {@code string}, {@code bool} and others are
- * represented in JSON in the same way as in the JS.
+ * <p>The Proto types {@code string} and {@code bool} are represented in JSON in the same way
+ * as in the JS.
  *
  * <p>The {@code IdentityParser} "parses" them by just assigning the variable to the passed value.
  */
 final class IdentityParser extends AbstractParser {
 
-    IdentityParser(CodeWriter writer) {
-        super(writer);
+    IdentityParser(CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
+    }
+
+    @Override
+    public boolean isIdentity() {
+        return true;
     }
 
     @Override
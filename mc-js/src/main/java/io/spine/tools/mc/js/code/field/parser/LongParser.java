@@ -27,10 +27,11 @@
 package io.spine.tools.mc.js.code.field.parser;
 
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.Int64Representation;
 import io.spine.tools.mc.js.code.text.Let;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.lang.String.format;
 
 /**
  * The generator of the code which parses the proto 64-bit numerical values from their JSON
@@ -39,24 +40,27 @@ import static java.lang.String.format;
  * <p>Types like {@code int64}, {@code uint64}, {@code fixed64} etc. are encoded in the JSON as a
  * {@code string}.
  *
- * <p>The parser thus applies the {@code parseInt} operation to the given {@code string} to obtain
- * the proto value from it.
+ * <p>The parser thus converts the given value into the {@linkplain Int64Representation
+ * representation} of the parsed field, unless the value is already of it.
  */
 final class LongParser extends AbstractParser {
 
-    LongParser(CodeWriter writer) {
-        super(writer);
+    private final Int64Representation representation;
+
+    /**
+     * Creates a parser for the fields of the given representation.
+     */
+    LongParser(CodeWriter writer,
+               GenerationOptions options,
+               Int64Representation representation) {
+        super(writer, options);
+        this.representation = checkNotNull(representation);
     }
 
     @Override
     public void parseIntoVariable(String value, String variable) {
         checkNotNull(value);
         checkNotNull(variable);
-        writer().append(parsedVariable(variable, value));
-    }
-
-    private static Let parsedVariable(String name, String valueToParse) {
-        var initializer = format("parseInt(%s)", valueToParse);
-        return Let.withValue(name, initializer);
+        writer().append(Let.withValue(variable, representation.convert(value)));
     }
 }
@@ -29,11 +29,13 @@ package io.spine.tools.mc.js.code.field.parser;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.text.Let;
 import io.spine.type.TypeUrl;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.mc.js.code.text.Parser.TYPE_PARSERS_IMPORT_NAME;
+import static io.spine.tools.mc.js.code.text.Parser.cachedParserVariable;
 import static io.spine.tools.mc.js.code.text.Parser.parseMethodCall;
 import static java.lang.String.format;
 
@@ -41,6 +43,12 @@ import static java.lang.String.format;
  * The value parser for the proto fields of {@code message} type.
  *
  * <p>Handles all {@code message} fields by calling {@code TypeParsers} registry.
+ *
+ * <p>The registry is queried only once per type. The obtained parser is stored into
+ * the {@linkplain io.spine.tools.mc.js.code.text.Parser#cachedParserVariable(Descriptor)
+ * module-level variable}, which is expected to be declared in the generated file.
+ * The registry is queried lazily, since the parsers are registered after the generated
+ * files are loaded.
  */
 final class MessageParser extends AbstractParser {
 
@@ -55,9 +63,11 @@ final class MessageParser extends AbstractParser {
      *         the processed field
      * @param writer
      *         the output which accumulates all the generated code
+     * @param options
+     *         the options of the generated code
      */
-    MessageParser(FieldDescriptor field, CodeWriter writer) {
-        super(writer);
+    MessageParser(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
         checkNotNull(field);
         this.message = field.getMessageType();
     }
@@ -71,7 +81,9 @@ final class MessageParser extends AbstractParser {
 
     private Let parsedVariable(String name, String valueToParse) {
         var typeUrl = TypeUrl.from(message);
-        var obtainParser = format("%s.%s('%s')",
+        var cached = cachedParserVariable(message);
+        var obtainParser = format("(%s || (%s = %s.%s('%s')))",
+                                  cached, cached,
                                   TYPE_PARSERS_IMPORT_NAME, PARSER_BY_URL_METHOD, typeUrl);
         var parserCall = parseMethodCall(obtainParser, valueToParse);
         return Let.withValue(name, parserCall);
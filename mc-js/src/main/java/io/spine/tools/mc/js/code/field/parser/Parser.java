@@ -29,6 +29,7 @@ package io.spine.tools.mc.js.code.field.parser;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import io.spine.code.proto.FieldDeclaration;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -61,6 +62,15 @@ public interface Parser {
      */
     CodeWriter writer();
 
+    /**
+     * Tells if the parser leaves the value as is.
+     *
+     * <p>The code using such a parser may skip parsing the values altogether.
+     */
+    default boolean isIdentity() {
+        return false;
+    }
+
     /**
      * Creates a {@code FieldParser} for the given field.
      *
@@ -71,15 +81,32 @@ public interface Parser {
      * @return the {@code FieldParser} of the appropriate type
      */
     static Parser createFor(FieldDescriptor field, CodeWriter writer) {
+        return createFor(field, writer, GenerationOptions.defaults());
+    }
+
+    /**
+     * Creates a {@code FieldParser} for the given field which generates the code
+     * according to the given options.
+     *
+     * @param field
+     *         the descriptor of the field to create the parser for
+     * @param writer
+     *         the lines to accumulate the generated code
+     * @param options
+     *         the options of the generated code
+     * @return the {@code FieldParser} of the appropriate type
+     */
+    static Parser createFor(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
         checkNotNull(field);
         checkNotNull(writer);
+        checkNotNull(options);
         var fdecl = new FieldDeclaration(field);
         if (fdecl.isMessage()) {
-            return new MessageParser(field, writer);
+            return new MessageParser(field, writer, options);
         }
         if (fdecl.isEnum()) {
-            return new EnumParser(field, writer);
+            return new EnumParser(field, writer, options);
         }
-        return new PrimitiveTypeParser(field, writer);
+        return new PrimitiveTypeParser(field, writer, options);
     }
 }
@@ -27,12 +27,14 @@
 package io.spine.tools.mc.js.code.field.parser;
 
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
 /**
- * Creates a {@link Parser} associating it with {@link io.spine.tools.mc.js.code.CodeWriter}.
+ * Creates a {@link Parser} associating it with {@link io.spine.tools.mc.js.code.CodeWriter}
+ * and the options of the generated code.
  */
 @FunctionalInterface
-interface ParserFactory extends Function<CodeWriter, Parser> {
+interface ParserFactory extends BiFunction<CodeWriter, GenerationOptions, Parser> {
 }
@@ -30,24 +30,22 @@ import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor.Type;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.Int64Representation;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.LONG;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.BOOL;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.BYTES;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.DOUBLE;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FIXED32;
-import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FIXED64;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FLOAT;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT32;
-import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT64;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SFIXED32;
-import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SFIXED64;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SINT32;
-import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SINT64;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.STRING;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.UINT32;
-import static com.google.protobuf.Descriptors.FieldDescriptor.Type.UINT64;
 
 /**
  * The value parser for the primitive proto fields.
@@ -60,11 +58,14 @@ final class PrimitiveTypeParser extends AbstractParser {
 
     /**
      * Maps a field to a factory for the parser of the corresponding primitive type.
+     *
+     * <p>The 64-bit integer types are not mapped, as their values are parsed according
+     * to the options of the particular field.
      */
     private static final ImmutableMap<Type, ParserFactory> factories = factories();
 
-    /** The type of the field for which to generate the parsing code. */
-    private final Type fieldType;
+    /** The field for which to generate the parsing code. */
+    private final FieldDescriptor field;
 
     /**
      * Creates a new instance for the given field.
@@ -73,26 +74,41 @@ final class PrimitiveTypeParser extends AbstractParser {
      *         the processed field
      * @param writer
      *         the output to store the generated code
+     * @param options
+     *         the options of the generated code
      */
-    PrimitiveTypeParser(FieldDescriptor field, CodeWriter writer) {
-        super(writer);
-        checkNotNull(field);
-        this.fieldType = field.getType();
+    PrimitiveTypeParser(FieldDescriptor field, CodeWriter writer, GenerationOptions options) {
+        super(writer, options);
+        this.field = checkNotNull(field);
     }
 
     /**
      * Creates the new instance for the given field type.
      *
      * @throws IllegalStateException
-     *         if the parser for the specified type cannot be found
+     *         if the parser for the specified type cannot be found, e.g. for
+     *         the 64-bit integer types
      */
     static Parser createFor(Type fieldType, CodeWriter writer) {
+        return createFor(fieldType, writer, GenerationOptions.defaults());
+    }
+
+    /**
+     * Creates the new instance for the given field type which generates the code
+     * according to the given options.
+     *
+     * @throws IllegalStateException
+     *         if the parser for the specified type cannot be found, e.g. for
+     *         the 64-bit integer types
+     */
+    static Parser createFor(Type fieldType, CodeWriter writer, GenerationOptions options) {
         checkNotNull(fieldType);
         checkNotNull(writer);
+        checkNotNull(options);
         checkState(factories.containsKey(fieldType),
                    "An attempt to get a parser for the unknown primitive type: `%s`.", fieldType);
         var factory = factories.get(fieldType);
-        var parser = factory.apply(writer);
+        var parser = factory.apply(writer, options);
         return parser;
     }
 
@@ -102,12 +118,29 @@ final class PrimitiveTypeParser extends AbstractParser {
      * <p>For the primitive field, the {@link Parser} implementation is used to convert
      * the field value into the appropriate type.
      */
+    @Override
+    public boolean isIdentity() {
+        return parser().isIdentity();
+    }
+
     @Override
     public void parseIntoVariable(String value, String variable) {
         checkNotNull(value);
         checkNotNull(variable);
-        var parser = createFor(fieldType, writer());
-        parser.parseIntoVariable(value, variable);
+        parser().parseIntoVariable(value, variable);
+    }
+
+    /**
+     * Creates the parser for the type of the field.
+     *
+     * <p>The 64-bit integer values are parsed into the {@linkplain Int64Representation#of
+     * representation} defined by the options of the field.
+     */
+    private Parser parser() {
+        if (field.getJavaType() == LONG) {
+            return new LongParser(writer(), options(), Int64Representation.of(field));
+        }
+        return createFor(field.getType(), writer(), options());
     }
 
     private static ImmutableMap<Type, ParserFactory> factories() {
@@ -115,16 +148,11 @@ final class PrimitiveTypeParser extends AbstractParser {
                 .put(BYTES, BytesParser::new)
                 .put(DOUBLE, FloatParser::new)
                 .put(FLOAT, FloatParser::new)
-                .put(INT32, IdentityParser::new)
-                .put(INT64, LongParser::new)
-                .put(UINT32, IdentityParser::new)
-                .put(UINT64, LongParser::new)
-                .put(SINT32, IdentityParser::new)
-                .put(SINT64, LongParser::new)
-                .put(FIXED32, IdentityParser::new)
-                .put(FIXED64, LongParser::new)
-                .put(SFIXED32, IdentityParser::new)
-                .put(SFIXED64, LongParser::new)
+                .put(INT32, Int32Parser::new)
+                .put(UINT32, Int32Parser::new)
+                .put(SINT32, Int32Parser::new)
+                .put(FIXED32, Int32Parser::new)
+                .put(SFIXED32, Int32Parser::new)
                 .put(BOOL, IdentityParser::new)
                 .put(STRING, IdentityParser::new)
                 .build();
@@ -62,6 +62,9 @@ final class MessagePrecondition extends FieldPrecondition {
      * <p>The only exception is the Protobuf {@link Value} type, where the check does not take
      * place and the {@code null} is allowed to reach the parser, which later converts it to the
      * {@link com.google.protobuf.NullValue}.
+     *
+     * <p>The {@code null} items of a {@code repeated} field are skipped, as a list of messages
+     * cannot hold {@code null}s.
      */
     @Override
     public void performNullCheck(String value, String mergeFieldFormat) {
@@ -71,6 +74,10 @@ final class MessagePrecondition extends FieldPrecondition {
             return;
         }
         var writer = writer();
+        if (field.isRepeated()) {
+            writer.ifNotNull(value);
+            return;
+        }
         writer.ifNull(value);
         var mergeNull = String.format(mergeFieldFormat, "null");
         writer.append(mergeNull);
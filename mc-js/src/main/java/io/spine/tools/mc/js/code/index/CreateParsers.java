@@ -26,31 +26,54 @@
 
 package io.spine.tools.mc.js.code.index;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.code.proto.FileDescriptors;
 import io.spine.code.proto.FileSet;
 import io.spine.code.proto.TypeSet;
 import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.step.CodeGenStep;
 import io.spine.tools.mc.js.code.text.Comment;
+import io.spine.tools.mc.js.code.text.EnumTable;
+import io.spine.tools.mc.js.code.text.GeneratedSection;
+import io.spine.tools.mc.js.code.text.Let;
 import io.spine.tools.mc.js.code.text.Parser;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
 import io.spine.tools.mc.js.fs.FileWriter;
 import io.spine.type.MessageType;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.ENUM;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.BYTES;
+import static io.spine.code.proto.FieldTypes.isMap;
+import static io.spine.code.proto.FieldTypes.valueDescriptor;
 import static io.spine.tools.code.Line.emptyLine;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.PARSERS;
 import static io.spine.tools.mc.js.code.text.Parser.importObjectParserIn;
+import static io.spine.tools.mc.js.code.text.Parser.cachedParserVariable;
 import static io.spine.tools.mc.js.code.text.Parser.importTypeParsersIn;
 
 /**
  * This class writes the {@linkplain Parser code} for
  * parsing of messages generated by Protobuf JS compiler.
  *
+ * <p>The code is written to the {@linkplain GeneratedSection#PARSERS parsers section}
+ * of a compiled file, so running the step again replaces the parsers
+ * instead of adding them once more.
+ *
  * @see KnownTypes
  */
 public final class CreateParsers extends CodeGenStep {
@@ -59,6 +82,12 @@ public final class CreateParsers extends CodeGenStep {
         super(checkNotNull(jsCodeRoot));
     }
 
+    public CreateParsers(SourceCodeDirectory jsCodeRoot,
+                         GenerationOptions options,
+                         DirectorySnapshot snapshot) {
+        super(checkNotNull(jsCodeRoot), options, snapshot);
+    }
+
     /**
      * Obtains message types that require parsers to be generated.
      *
@@ -75,30 +104,53 @@ public final class CreateParsers extends CodeGenStep {
 
     @Override
     protected void generateFor(FileSet fileSet) {
-        for (var file : fileSet.files()) {
-            generateFor(file);
-        }
+        forEachFile(fileSet.files(), this::generateFor);
     }
 
     private void generateFor(FileDescriptor file) {
         if (targetTypes(file).isEmpty()) {
             return;
         }
-        var code = codeFor(file);
-        var writer = FileWriter.newInstance(jsCodeRoot(), file);
-        writer.append(code);
+        var code = codeFor(file, options());
+        var filePath = JsFiles.resolve(jsCodeRoot(), FileName.from(file));
+        var writer = FileWriter.newInstance(filePath, options());
+        writes().record(writer.writeSections(ImmutableMap.of(PARSERS, code)));
+    }
+
+    /**
+     * Obtains the code of parsers for the messages declared in the given file.
+     *
+     * <p>The code includes the imports required by the parsers.
+     */
+    public static CodeWriter codeFor(FileDescriptor file) {
+        return codeFor(file, GenerationOptions.defaults());
     }
 
-    @VisibleForTesting
-    static CodeWriter codeFor(FileDescriptor file) {
+    /**
+     * Obtains the code of parsers for the messages declared in the given file.
+     *
+     * <p>The code includes the imports required by the parsers, as well as
+     * the {@linkplain io.spine.tools.mc.js.code.BytesDecoder#declaration() declaration}
+     * of the {@code bytes} decoder if any of the parsed fields is of the {@code bytes} type.
+     * The declaration is thus made once per file rather than in each parser.
+     *
+     * <p>The code also declares the {@linkplain Parser#cachedParserVariable(Descriptor)
+     * variables} caching the parsers of the nested messages, so each parser is obtained
+     * from the {@code TypeParsers} registry once per file, and the {@linkplain EnumTable
+     * lookup tables} of the enums parsed by the code.
+     */
+    public static CodeWriter codeFor(FileDescriptor file, GenerationOptions options) {
+        checkNotNull(options);
         var types = targetTypes(file);
         var fileName = FileName.from(file);
         var writer = new CodeWriter();
         writer.append(emptyLine())
               .append(Comment.generatedBySpine())
               .append(emptyLine())
-              .append(imports(fileName))
-              .append(parses(types));
+              .append(imports(fileName, types, options))
+              .append(cachedParsers(types))
+              .append(enumTables(types))
+              .append(parses(types, options));
         return writer;
     }
 
@@ -107,26 +159,107 @@ public final class CreateParsers extends CodeGenStep {
      *
      * @param targetFile
      *         the file to generate imports for
+     * @param messageTypes
+     *         the messages to parse
+     * @param options
+     *         the options of the generated code
      */
-    private static CodeWriter imports(FileName targetFile) {
+    private static CodeWriter imports(FileName targetFile,
+                                      ImmutableCollection<MessageType> messageTypes,
+                                      GenerationOptions options) {
         var objectParserImport = importObjectParserIn(targetFile);
         var typeParsersImport = importTypeParsersIn(targetFile);
         var lines = new CodeWriter();
         lines.append(objectParserImport)
              .append(typeParsersImport);
+        if (parseBytes(messageTypes)) {
+            lines.append(options.bytesDecoder()
+                                .declaration());
+        }
         return lines;
     }
 
+    /**
+     * Tells if the parsers of the given messages decode {@code bytes} values.
+     */
+    private static boolean parseBytes(ImmutableCollection<MessageType> messageTypes) {
+        for (var message : messageTypes) {
+            for (var field : message.descriptor().getFields()) {
+                if (isBytes(field)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Declares the variables caching the parsers of the messages nested into
+     * the given messages.
+     *
+     * <p>Each variable is declared once, even if several fields are of the same type.
+     */
+    private static CodeWriter cachedParsers(ImmutableCollection<MessageType> messageTypes) {
+        var variables = new LinkedHashSet<String>();
+        for (var message : messageTypes) {
+            for (var field : message.descriptor().getFields()) {
+                var value = isMap(field) ? valueDescriptor(field) : field;
+                if (value.getJavaType() == MESSAGE) {
+                    variables.add(cachedParserVariable(value.getMessageType()));
+                }
+            }
+        }
+        var lines = new CodeWriter();
+        for (var variable : variables) {
+            lines.append(Let.uninitialized(variable));
+        }
+        return lines;
+    }
+
+    /**
+     * Declares the {@linkplain EnumTable lookup tables} of the enums used by the fields of
+     * the given messages.
+     *
+     * <p>Each table is declared once, even if several fields are of the same enum.
+     */
+    private static CodeWriter enumTables(ImmutableCollection<MessageType> messageTypes) {
+        var enums = new LinkedHashMap<String, EnumDescriptor>();
+        for (var message : messageTypes) {
+            for (var field : message.descriptor().getFields()) {
+                var value = isMap(field) ? valueDescriptor(field) : field;
+                if (value.getJavaType() == ENUM) {
+                    var enumType = value.getEnumType();
+                    enums.putIfAbsent(enumType.getFullName(), enumType);
+                }
+            }
+        }
+        var lines = new CodeWriter();
+        for (var enumType : enums.values()) {
+            lines.append(new EnumTable(enumType));
+        }
+        return lines;
+    }
+
+    private static boolean isBytes(FieldDescriptor field) {
+        if (isMap(field)) {
+            return valueDescriptor(field).getType() == BYTES;
+        }
+        return field.getType() == BYTES;
+    }
+
     /**
      * Obtains the code with parsers for the specified types.
      *
      * @param messageTypes
      *         all messages in a file to generate parser for
+     * @param options
+     *         the options of the generated code
      */
-    private static CodeWriter parses(ImmutableCollection<MessageType> messageTypes) {
+    private static CodeWriter parses(ImmutableCollection<MessageType> messageTypes,
+                                     GenerationOptions options) {
         var writer = new CodeWriter();
         for (var message : messageTypes) {
-            var parser = new Parser(message.descriptor());
+            var parser = new Parser(message.descriptor(), options);
             writer.append(emptyLine())
                   .append(parser);
         }
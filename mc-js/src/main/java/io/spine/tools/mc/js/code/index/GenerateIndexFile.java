@@ -32,13 +32,19 @@ import io.spine.code.proto.FileSet;
 import io.spine.code.proto.TypeSet;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.step.CodeGenStep;
 import io.spine.tools.mc.js.code.text.Import;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
 import io.spine.tools.mc.js.fs.FileWriter;
 
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.spine.tools.code.Line.emptyLine;
 import static io.spine.tools.js.fs.LibraryFile.INDEX;
-import static java.util.stream.Collectors.toSet;
+import static java.util.Comparator.comparing;
 
 /**
  * The task to generate the {@code index.js} for generated Protobuf types.
@@ -50,6 +56,9 @@ import static java.util.stream.Collectors.toSet;
  *     <li>The map of known types.
  *     <li>The map of parsers for known types.
  * </ul>
+ *
+ * <p>The imports are sorted by the file paths, and the map entries are sorted by the type URLs,
+ * so the same Protobuf files always produce the same index file.
  */
 public final class GenerateIndexFile extends CodeGenStep {
 
@@ -57,17 +66,38 @@ public final class GenerateIndexFile extends CodeGenStep {
         super(jsCodeRoot);
     }
 
+    public GenerateIndexFile(SourceCodeDirectory jsCodeRoot,
+                             GenerationOptions options,
+                             DirectorySnapshot snapshot) {
+        super(jsCodeRoot, options, snapshot);
+    }
+
     @Override
     protected void generateFor(FileSet fileSet) {
         var code = codeFor(fileSet);
-        var writer = FileWriter.newInstance(jsCodeRoot(), INDEX.fileName());
-        writer.write(code);
+        var writer = FileWriter.newInstance(jsCodeRoot(), INDEX.fileName(), options());
+        writes().record(writer.write(code));
     }
 
     @VisibleForTesting
     static CodeWriter codeFor(FileSet fileSet) {
+        return codeFor(fileSet, Import::fileRelativeToRoot);
+    }
+
+    /**
+     * Obtains the code of the index file which imports the {@linkplain CompanionFiles
+     * companion files} instead of the compiled files.
+     *
+     * <p>A companion file imports its compiled file, so the types are known all the same.
+     * The parsers are declared only in the companion files.
+     */
+    public static CodeWriter codeWithCompanionsFor(FileSet fileSet) {
+        return codeFor(fileSet, file -> Import.library("./" + CompanionFiles.nameOf(file)));
+    }
+
+    private static CodeWriter codeFor(FileSet fileSet, Function<FileName, Import> importOf) {
         var code = new CodeWriter();
-        code.append(knownTypesImports(fileSet));
+        code.append(knownTypesImports(fileSet, importOf));
         code.append(emptyLine());
         code.append(new KnownTypes(fileSet).writer());
         code.append(emptyLine());
@@ -77,16 +107,21 @@ public final class GenerateIndexFile extends CodeGenStep {
 
     /**
      * Generates import statements for all files declaring generated messages.
+     *
+     * <p>The imports are sorted by the paths of the imported files.
      */
-    private static CodeWriter knownTypesImports(FileSet fileSet) {
+    private static CodeWriter
+    knownTypesImports(FileSet fileSet, Function<FileName, Import> importOf) {
         var files = fileSet.files();
         var imports = files.stream()
                 .filter(file -> !TypeSet.from(file).isEmpty())
                 .map(FileName::from)
-                .collect(toSet());
+                .distinct()
+                .sorted(comparing(FileName::pathFromRoot))
+                .collect(toImmutableList());
         var importLines = new CodeWriter();
         for (var fileName : imports) {
-            var fileImport = Import.fileRelativeToRoot(fileName);
+            var fileImport = importOf.apply(fileName);
             importLines.append(fileImport);
         }
         return importLines;
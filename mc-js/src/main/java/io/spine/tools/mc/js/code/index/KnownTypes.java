@@ -42,12 +42,15 @@ import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Map.Entry.comparingByKey;
 
 /**
  * The code of the known types {@code Map}.
  *
  * <p>This class generates the map with all the known types written in the form of
  * "{@linkplain io.spine.type.TypeUrl type-url}-to-JS-type".
+ *
+ * <p>The entries of the map are sorted by the type URLs.
  */
 final class KnownTypes implements Snippet {
 
@@ -86,6 +89,7 @@ final class KnownTypes implements Snippet {
         var entries =
                 allTypes.stream()
                         .map(KnownTypes::mapEntry)
+                        .sorted(comparingByKey())
                         .collect(toImmutableList());
         return entries;
     }
@@ -40,6 +40,7 @@ import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Map.Entry.comparingByKey;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -47,6 +48,8 @@ import static java.util.stream.Collectors.toList;
  *
  * <p>This class generates the map with all the parsers written in the form of
  * "{@linkplain io.spine.type.TypeUrl type-url}-to-Parser-type".
+ *
+ * <p>The entries of the map are sorted by the type URLs.
  */
 final class TypeParsers implements Snippet {
 
@@ -77,6 +80,7 @@ final class TypeParsers implements Snippet {
         var entries = typesWithParsers
                 .stream()
                 .map(TypeParsers::mapEntry)
+                .sorted(comparingByKey())
                 .collect(toList());
         return entries;
     }
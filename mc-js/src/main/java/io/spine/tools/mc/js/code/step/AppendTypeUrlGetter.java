@@ -27,6 +27,7 @@
 package io.spine.tools.mc.js.code.step;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.code.proto.FileSet;
@@ -34,44 +35,82 @@ import io.spine.code.proto.TypeSet;
 import io.spine.tools.code.Line;
 import io.spine.tools.js.code.MethodReference;
 import io.spine.tools.js.code.TypeName;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.text.Comment;
+import io.spine.tools.mc.js.code.text.GeneratedSection;
 import io.spine.tools.mc.js.code.text.Method;
 import io.spine.tools.mc.js.code.text.Return;
 import io.spine.tools.mc.js.code.text.Snippet;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
 import io.spine.tools.mc.js.fs.FileWriter;
+import io.spine.tools.mc.js.fs.ImportResolution;
 import io.spine.type.Type;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.code.Line.emptyLine;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.TYPE_URLS;
 
 /**
  * Generates a method to obtain a {@code TypeUrl} for each type in a {@link FileSet}.
  *
  * <p>The class handles messages and enums of any nesting level.
+ *
+ * <p>The methods are written to the {@linkplain GeneratedSection#TYPE_URLS type URLs section}
+ * of a compiled file, so running the step again replaces the methods instead of
+ * adding them once more.
  */
 public class AppendTypeUrlGetter extends CodeGenStep {
 
     private static final String METHOD_NAME = "typeUrl";
 
+    private final ImportResolution importResolution;
+
     public AppendTypeUrlGetter(SourceCodeDirectory jsCodeRoot) {
         super(jsCodeRoot);
+        this.importResolution = ImportResolution.none();
+    }
+
+    public AppendTypeUrlGetter(SourceCodeDirectory jsCodeRoot,
+                               GenerationOptions options,
+                               DirectorySnapshot snapshot) {
+        this(jsCodeRoot, options, snapshot, ImportResolution.none());
+    }
+
+    /**
+     * Creates a step which resolves the imports of the files it writes.
+     *
+     * <p>The step writes each compiled file, so, being the last step writing a file,
+     * it resolves the imports in the code written by the previous steps too.
+     */
+    public AppendTypeUrlGetter(SourceCodeDirectory jsCodeRoot,
+                               GenerationOptions options,
+                               DirectorySnapshot snapshot,
+                               ImportResolution importResolution) {
+        super(jsCodeRoot, options, snapshot);
+        this.importResolution = checkNotNull(importResolution);
     }
 
     @Override
     protected void generateFor(FileSet fileSet) {
-        for (var file : fileSet.files()) {
-            generateFor(file);
-        }
+        forEachFile(fileSet.files(), this::generateFor);
     }
 
     private void generateFor(FileDescriptor file) {
         var typeUrlMethods = typeUrlMethods(file);
-        var writer = FileWriter.newInstance(jsCodeRoot(), file);
-        writer.append(typeUrlMethods);
+        var filePath = JsFiles.resolve(jsCodeRoot(), FileName.from(file));
+        var writer = FileWriter.newInstance(filePath, options());
+        var transformation = importResolution.in(filePath, snapshot());
+        var sections = ImmutableMap.of(TYPE_URLS, typeUrlMethods);
+        writes().record(writer.writeSections(sections, transformation));
     }
 
-    @VisibleForTesting
-    static CodeWriter typeUrlMethods(FileDescriptor file) {
+    /**
+     * Obtains the {@code typeUrl} methods for all the types declared in the given file.
+     */
+    public static CodeWriter typeUrlMethods(FileDescriptor file) {
         var writer = new CodeWriter();
         var types = TypeSet.from(file);
         for (var type : types.messagesAndEnums()) {
@@ -28,8 +28,20 @@ package io.spine.tools.mc.js.code.step;
 
 import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.code.proto.FileSet;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.FileWrites;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.stream.Collectors.toList;
 
 /**
  * A code generation task for Protobuf declarations.
@@ -40,9 +52,52 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public abstract class CodeGenStep {
 
     private final SourceCodeDirectory sourceDir;
+    private final GenerationOptions options;
+    private final DirectorySnapshot snapshot;
+    private final FileWrites writes = new FileWrites();
+    private ExecutorService executor = newDirectExecutorService();
 
+    /**
+     * Creates a new step which generates the code with
+     * the {@linkplain GenerationOptions#defaults() default} options.
+     *
+     * <p>The step checks if the files exist on the file system.
+     */
     protected CodeGenStep(SourceCodeDirectory jsCodeRoot) {
+        this(jsCodeRoot, GenerationOptions.defaults(), DirectorySnapshot.none());
+    }
+
+    /**
+     * Creates a new step.
+     *
+     * @param jsCodeRoot
+     *         the root directory of the generated JavaScript code
+     * @param options
+     *         the options of the generated code
+     * @param snapshot
+     *         the snapshot of the root directory used to check if the files exist
+     */
+    protected CodeGenStep(SourceCodeDirectory jsCodeRoot,
+                          GenerationOptions options,
+                          DirectorySnapshot snapshot) {
         this.sourceDir = checkNotNull(jsCodeRoot);
+        this.options = checkNotNull(options);
+        this.snapshot = checkNotNull(snapshot);
+    }
+
+    /**
+     * Sets the executor which processes the files of the step.
+     *
+     * <p>Processing a file mostly waits for the file system, so an executor with more threads
+     * than the number of processors may speed up the step on the file systems which serve
+     * many requests in parallel.
+     *
+     * <p>The step does not shut the executor down, so the same executor may be shared by
+     * all the steps of a code generation run. By default, the files are processed one by one
+     * in the calling thread. The generated code is the same for any executor.
+     */
+    public final void setExecutor(ExecutorService executor) {
+        this.executor = checkNotNull(executor);
     }
 
     /**
@@ -73,7 +128,7 @@ public abstract class CodeGenStep {
      * @return the files to perform the tasks for
      */
     protected FileSet filter(FileSet fileSet) {
-        var predicate = new CompiledProtoBelongsToModule(sourceDir);
+        var predicate = new CompiledProtoBelongsToModule(sourceDir, snapshot);
         return fileSet.filter(predicate.forDescriptor());
     }
 
@@ -82,6 +137,44 @@ public abstract class CodeGenStep {
      */
     protected abstract void generateFor(FileSet fileSet);
 
+    /**
+     * Performs the given action for each of the given files using
+     * the {@linkplain #setExecutor(ExecutorService) configured} executor.
+     *
+     * <p>The action must only touch the given file, so that the files can be processed
+     * in any order.
+     *
+     * @throws IllegalStateException
+     *         if a file cannot be processed, or if the thread is interrupted while waiting
+     *         for the files to be processed
+     */
+    protected final <T> void forEachFile(Collection<T> files, Consumer<T> action) {
+        checkNotNull(files);
+        checkNotNull(action);
+        if (files.size() < 2) {
+            files.forEach(action);
+            return;
+        }
+        var tasks = files.stream()
+                .map(file -> (Callable<Void>) () -> {
+                    action.accept(file);
+                    return null;
+                })
+                .collect(toList());
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            throwIfUnchecked(cause);
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Obtains the root directory for the JavaScript sources generated from Protobuf types.
      */
@@ -89,6 +182,27 @@ public abstract class CodeGenStep {
         return sourceDir;
     }
 
+    /**
+     * Obtains the options of the generated code.
+     */
+    protected GenerationOptions options() {
+        return options;
+    }
+
+    /**
+     * Obtains the snapshot used to check if the files exist.
+     */
+    protected DirectorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Obtains the counts of the files written and skipped by this step.
+     */
+    public FileWrites writes() {
+        return writes;
+    }
+
     /**
      * Checks if the task has any files to process.
      *
@@ -30,6 +30,7 @@ import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.code.proto.SourceFile;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
 
 import java.nio.file.Path;
 
@@ -48,9 +49,11 @@ final class CompiledProtoBelongsToModule extends ProtoBelongsToModule {
      *
      * @param jsCodeRoot
      *         the root directory for generated Protobufs
+     * @param snapshot
+     *         the snapshot used to check if the compiled files exist
      */
-    CompiledProtoBelongsToModule(SourceCodeDirectory jsCodeRoot) {
-        super();
+    CompiledProtoBelongsToModule(SourceCodeDirectory jsCodeRoot, DirectorySnapshot snapshot) {
+        super(snapshot);
         checkNotNull(jsCodeRoot);
         this.jsCodeRoot = jsCodeRoot;
     }
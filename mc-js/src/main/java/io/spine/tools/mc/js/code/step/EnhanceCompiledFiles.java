@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.step;
+
+import com.google.protobuf.Descriptors.FileDescriptor;
+import io.spine.code.proto.FileSet;
+import io.spine.logging.WithLogging;
+import io.spine.tools.code.SourceSetName;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.Generated;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.index.CreateParsers;
+import io.spine.tools.mc.js.code.text.GeneratedSection;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.FileWriter;
+import io.spine.tools.mc.js.fs.ImportCache;
+import io.spine.tools.mc.js.fs.JsFile;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.tools.mc.js.code.index.CreateParsers.targetTypes;
+import static io.spine.tools.mc.js.code.step.AppendTypeUrlGetter.typeUrlMethods;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.PARSERS;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.TYPE_URLS;
+import static java.lang.String.format;
+
+/**
+ * A task which enhances each compiled JavaScript file in a single pass.
+ *
+ * <p>The task performs the same generation as the sequence of {@link CreateParsers},
+ * {@link AppendTypeUrlGetter}, and {@link ResolveImports} steps. Unlike the sequence,
+ * it reads each file once and streams it into the enhanced file, adding the generated code
+ * and resolving the imports on the way.
+ *
+ * <p>The index file is not generated by this task.
+ */
+public final class EnhanceCompiledFiles extends CodeGenStep implements WithLogging {
+
+    private final Path generatedRoot;
+    private final ExternalModules modules;
+    private final ImportCache imports;
+
+    public EnhanceCompiledFiles(Generated generatedRoot,
+                                SourceSetName ssn,
+                                ExternalModules modules) {
+        this(generatedRoot, ssn, modules, GenerationOptions.defaults(), DirectorySnapshot.none());
+    }
+
+    public EnhanceCompiledFiles(Generated generatedRoot,
+                                SourceSetName ssn,
+                                ExternalModules modules,
+                                GenerationOptions options,
+                                DirectorySnapshot snapshot) {
+        this(generatedRoot, ssn, modules, options, snapshot, new ImportCache());
+    }
+
+    /**
+     * Creates a step which reuses the imports resolved by other steps.
+     *
+     * <p>The steps sharing the cache should resolve imports among the same modules
+     * in the same root directory of the generated code.
+     */
+    public EnhanceCompiledFiles(Generated generatedRoot,
+                                SourceSetName ssn,
+                                ExternalModules modules,
+                                GenerationOptions options,
+                                DirectorySnapshot snapshot,
+                                ImportCache imports) {
+        super(generatedRoot.dir(ssn), options, snapshot);
+        this.generatedRoot = generatedRoot.path();
+        this.modules = checkNotNull(modules);
+        this.imports = checkNotNull(imports);
+    }
+
+    @Override
+    protected void generateFor(FileSet fileSet) {
+        forEachFile(fileSet.files(), this::generateFor);
+    }
+
+    private void generateFor(FileDescriptor file) {
+        var fileName = FileName.from(file);
+        logger().atDebug()
+                .log(() -> format("Enhancing the file `%s`.", fileName));
+        var filePath = JsFiles.resolve(jsCodeRoot(), fileName);
+        var writer = FileWriter.newInstance(filePath, options());
+        var sections = new EnumMap<GeneratedSection, CodeWriter>(GeneratedSection.class);
+        if (!targetTypes(file).isEmpty()) {
+            sections.put(PARSERS, CreateParsers.codeFor(file, options()));
+        }
+        sections.put(TYPE_URLS, typeUrlMethods(file));
+        var jsFile = new JsFile(filePath, snapshot(), imports);
+        var importResolution = jsFile.importResolution(generatedRoot, modules);
+        writes().record(writer.writeSections(sections, importResolution));
+    }
+}
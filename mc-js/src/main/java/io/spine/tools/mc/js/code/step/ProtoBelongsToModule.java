@@ -30,10 +30,12 @@ import com.google.protobuf.Descriptors.FileDescriptor;
 import io.spine.code.proto.SourceFile;
 import io.spine.logging.Logger;
 import io.spine.logging.LoggingFactory;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
 
 import java.nio.file.Path;
 import java.util.function.Predicate;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
 
 /**
@@ -46,11 +48,22 @@ abstract class ProtoBelongsToModule implements Predicate<SourceFile> {
 
     private static final Logger<?> logger = LoggingFactory.forEnclosingClass();
 
+    private final DirectorySnapshot snapshot;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param snapshot
+     *         the snapshot used to check if the files exist
+     */
+    ProtoBelongsToModule(DirectorySnapshot snapshot) {
+        this.snapshot = checkNotNull(snapshot);
+    }
 
     @Override
     public boolean test(SourceFile file) {
         var filePath = resolve(file);
-        var exists = filePath.toFile().exists();
+        var exists = snapshot.exists(filePath);
         logger.atTrace()
               .log(() -> format("Checking if the file `%s` exists, result: `%b`.",
                                 filePath, exists));
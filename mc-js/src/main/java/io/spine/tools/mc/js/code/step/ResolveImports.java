@@ -27,6 +27,7 @@
 package io.spine.tools.mc.js.code.step;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.spine.code.proto.FileSet;
 import io.spine.logging.WithLogging;
 import io.spine.tools.code.SourceSetName;
@@ -34,11 +35,19 @@ import io.spine.tools.fs.ExternalModules;
 import io.spine.tools.fs.Generated;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.ImportCache;
 import io.spine.tools.mc.js.fs.JsFile;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.lang.String.format;
 
 /**
@@ -53,28 +62,159 @@ public final class ResolveImports extends CodeGenStep implements WithLogging {
 
     private final Path generatedRoot;
     private final ExternalModules modules;
+    private final ImportCache imports;
+    private final boolean companionFiles;
 
+    /**
+     * Creates a step which resolves imports with the default settings.
+     *
+     * @param generatedRoot
+     *         the root directory of the generated code
+     * @param ssn
+     *         the name of the source set in which the imports are resolved
+     * @param modules
+     *         the modules to resolve the imports among
+     * @see #newBuilder(Generated, SourceSetName, ExternalModules)
+     */
     public ResolveImports(Generated generatedRoot, SourceSetName ssn, ExternalModules modules) {
-        super(generatedRoot.dir(ssn));
-        this.generatedRoot = generatedRoot.path();
-        this.modules = checkNotNull(modules);
+        this(newBuilder(generatedRoot, ssn, modules));
+    }
+
+    private ResolveImports(Builder builder) {
+        super(builder.generatedRoot.dir(builder.ssn), builder.options, builder.snapshot);
+        this.generatedRoot = builder.generatedRoot.path();
+        this.modules = builder.modules;
+        this.imports = builder.imports;
+        this.companionFiles = builder.companionFiles;
+        setExecutor(builder.executor);
+    }
+
+    /**
+     * Obtains the builder of the step.
+     *
+     * @param generatedRoot
+     *         the root directory of the generated code
+     * @param ssn
+     *         the name of the source set in which the imports are resolved
+     * @param modules
+     *         the modules to resolve the imports among
+     * @return the builder
+     */
+    public static Builder newBuilder(Generated generatedRoot,
+                                     SourceSetName ssn,
+                                     ExternalModules modules) {
+        return new Builder(generatedRoot, ssn, modules);
     }
 
     @Override
     protected void generateFor(FileSet fileSet) {
+        forEachFile(filesToResolve(fileSet), this::resolveInFile);
+    }
+
+    private List<Path> filesToResolve(FileSet fileSet) {
         var jsCodeRoot = jsCodeRoot();
+        var result = new ArrayList<Path>();
         for (var file : fileSet.files()) {
-            var fileName = FileName.from(file);
-            logger().atDebug()
-                    .log(() -> format("Resolving imports in the file `%s`.", fileName));
-            var filePath = JsFiles.resolve(jsCodeRoot, fileName);
-            resolveInFile(filePath);
+            var filePath = JsFiles.resolve(jsCodeRoot, FileName.from(file));
+            if (companionFiles) {
+                filePath = CompanionFiles.pathOf(filePath);
+                if (!snapshot().exists(filePath)) {
+                    continue;
+                }
+            }
+            result.add(filePath);
         }
+        return result;
     }
 
     @VisibleForTesting
     void resolveInFile(Path filePath) {
-        var file = new JsFile(filePath);
-        file.resolveImports(generatedRoot, modules);
+        logger().atDebug()
+                .log(() -> format("Resolving imports in the file `%s`.", filePath));
+        var file = new JsFile(filePath, snapshot(), imports);
+        writes().record(file.rewriteImports(generatedRoot, modules));
+    }
+
+    /**
+     * The builder of a {@code ResolveImports} step.
+     */
+    public static final class Builder {
+
+        private final Generated generatedRoot;
+        private final SourceSetName ssn;
+        private final ExternalModules modules;
+        private GenerationOptions options = GenerationOptions.defaults();
+        private DirectorySnapshot snapshot = DirectorySnapshot.none();
+        private ImportCache imports = new ImportCache();
+        private ExecutorService executor = newDirectExecutorService();
+        private boolean companionFiles = false;
+
+        private Builder(Generated generatedRoot, SourceSetName ssn, ExternalModules modules) {
+            this.generatedRoot = checkNotNull(generatedRoot);
+            this.ssn = checkNotNull(ssn);
+            this.modules = checkNotNull(modules);
+        }
+
+        /**
+         * Sets the options of the generated code.
+         */
+        @CanIgnoreReturnValue
+        public Builder withOptions(GenerationOptions options) {
+            this.options = checkNotNull(options);
+            return this;
+        }
+
+        /**
+         * Sets the snapshot of the directory with the generated code of the source set.
+         */
+        @CanIgnoreReturnValue
+        public Builder withSnapshot(DirectorySnapshot snapshot) {
+            this.snapshot = checkNotNull(snapshot);
+            return this;
+        }
+
+        /**
+         * Sets the cache of the imports resolved by other steps.
+         *
+         * <p>The steps sharing the cache should resolve imports among the same modules
+         * in the same root directory of the generated code.
+         */
+        @CanIgnoreReturnValue
+        public Builder withImports(ImportCache imports) {
+            this.imports = checkNotNull(imports);
+            return this;
+        }
+
+        /**
+         * Sets the executor which resolves the imports in the files.
+         *
+         * <p>By default, the files are processed one by one in the calling thread.
+         *
+         * @see CodeGenStep#setExecutor(ExecutorService)
+         */
+        @CanIgnoreReturnValue
+        public Builder withExecutor(ExecutorService executor) {
+            this.executor = checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets if the imports are resolved in the {@linkplain CompanionFiles companion files}
+         * of the compiled files instead of the compiled files themselves.
+         *
+         * <p>The compiled files without companions are skipped.
+         */
+        @CanIgnoreReturnValue
+        public Builder withCompanionFiles(boolean companionFiles) {
+            this.companionFiles = companionFiles;
+            return this;
+        }
+
+        /**
+         * Creates the step.
+         */
+        public ResolveImports build() {
+            return new ResolveImports(this);
+        }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.text;
+
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import io.spine.tools.mc.js.code.CodeWriter;
+
+import java.util.LinkedHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * The declaration of a lookup table of a Protobuf enum.
+ *
+ * <p>The table maps both the names and the numbers of the enum values to the numbers.
+ * So, the parsers accept the enum values in either form with a single property read.
+ *
+ * <p>The table is a frozen object with no prototype, so the properties of
+ * {@code Object.prototype}, such as {@code toString}, are never taken for enum values.
+ *
+ * <p>The table is declared at the module scope of a file with generated parsers,
+ * so it is built once, when the file is loaded.
+ */
+public final class EnumTable implements Snippet {
+
+    /** The prefix of the variables holding the lookup tables. */
+    private static final String VARIABLE_PREFIX = "enum$";
+
+    /** The enum to declare the table for. */
+    private final EnumDescriptor enumType;
+
+    public EnumTable(EnumDescriptor enumType) {
+        this.enumType = checkNotNull(enumType);
+    }
+
+    /**
+     * Obtains the name of the variable holding the lookup table of the given enum.
+     *
+     * <p>The name is derived from the full name of the enum, so the variables of different
+     * enums never clash.
+     */
+    public static String variableName(EnumDescriptor enumType) {
+        checkNotNull(enumType);
+        return VARIABLE_PREFIX + enumType.getFullName()
+                                         .replace('.', '$');
+    }
+
+    @Override
+    public CodeWriter writer() {
+        var entries = new LinkedHashMap<String, Integer>();
+        for (var value : enumType.getValues()) {
+            entries.put(value.getName(), value.getNumber());
+        }
+        for (var value : enumType.getValues()) {
+            entries.putIfAbsent(String.valueOf(value.getNumber()), value.getNumber());
+        }
+        var header = format("let %s = Object.freeze(Object.assign(Object.create(null), {",
+                            variableName(enumType));
+        var lines = new CodeWriter()
+                .append(header)
+                .increaseDepth();
+        var remaining = entries.size();
+        for (var entry : entries.entrySet()) {
+            remaining--;
+            var separator = remaining > 0 ? "," : "";
+            lines.append(format("'%s': %d%s", entry.getKey(), entry.getValue(), separator));
+        }
+        lines.decreaseDepth()
+             .append("}));");
+        return lines;
+    }
+}
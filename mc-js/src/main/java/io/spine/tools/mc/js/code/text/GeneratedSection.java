@@ -0,0 +1,257 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.text;
+
+import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A section of the code added by the Model Compiler to a file compiled by Protobuf Compiler.
+ *
+ * <p>The section is delimited by the {@linkplain #begin() begin} and {@linkplain #end() end}
+ * comments. If the file already contains the section, the section is replaced in place.
+ * Thus, the code generation may run several times against the same file without
+ * duplicating the generated code.
+ */
+public enum GeneratedSection {
+
+    /**
+     * The parsers of the messages declared in the file.
+     */
+    PARSERS("parsers"),
+
+    /**
+     * The methods obtaining type URLs of the types declared in the file.
+     */
+    TYPE_URLS("type-urls");
+
+    private static final String MARKER_PREFIX = "@spine-mc-js ";
+
+    private final Comment begin;
+    private final Comment end;
+
+    GeneratedSection(String name) {
+        this.begin = Comment.of(MARKER_PREFIX + "begin " + name);
+        this.end = Comment.of(MARKER_PREFIX + "end " + name);
+    }
+
+    /**
+     * Obtains the comment opening the section.
+     */
+    public Comment begin() {
+        return begin;
+    }
+
+    /**
+     * Obtains the comment closing the section.
+     */
+    public Comment end() {
+        return end;
+    }
+
+    /**
+     * Copies the lines of a file from the given reader to the given output putting the given
+     * code into the sections.
+     *
+     * <p>The lines of the file are not held in memory. They are copied one by one as they
+     * are read.
+     *
+     * <p>If the file already contains a section, its content is replaced with the code
+     * in place. Otherwise, the section is added to the end of the file. The added sections
+     * follow in the order of their declaration. If the code of a section is empty,
+     * the section is removed from the file. The sections which are not in the given map
+     * are copied as is.
+     *
+     * <p>The lines of the file outside the sections are not formatted.
+     *
+     * <p>Each line of the output is passed through the given transformation, which allows
+     * adjusting the lines, e.g. resolving imports, on the way.
+     *
+     * @param file
+     *         the reader of the file lines
+     * @param output
+     *         the output to write the lines with the sections to
+     * @param sections
+     *         the code to put into each section
+     * @param options
+     *         the options of the generated code
+     * @param transformation
+     *         the function to apply to each written line
+     * @throws IOException
+     *         if the file cannot be read or the output fails
+     * @throws IllegalStateException
+     *         if a section in the file is not closed
+     */
+    public static void putAll(BufferedReader file,
+                              Appendable output,
+                              Map<GeneratedSection, CodeWriter> sections,
+                              GenerationOptions options,
+                              UnaryOperator<String> transformation) throws IOException {
+        checkNotNull(file);
+        checkNotNull(output);
+        checkNotNull(sections);
+        checkNotNull(options);
+        checkNotNull(transformation);
+        var lines = new LineOutput(output, options.lineSeparator(), transformation);
+        var pending = new EnumMap<GeneratedSection, CodeWriter>(GeneratedSection.class);
+        pending.putAll(sections);
+        for (var line = file.readLine(); line != null; line = file.readLine()) {
+            var section = beginningAt(line);
+            if (section != null && pending.containsKey(section)) {
+                section.skip(file);
+                section.write(pending.remove(section), lines, options);
+            } else {
+                lines.write(line);
+            }
+        }
+        for (var entry : pending.entrySet()) {
+            entry.getKey()
+                 .write(entry.getValue(), lines, options);
+        }
+    }
+
+    /**
+     * Obtains the section which begins at the given line or {@code null}
+     * if the line does not begin any section.
+     */
+    private static @Nullable GeneratedSection beginningAt(String line) {
+        var text = line.trim();
+        for (var section : values()) {
+            if (text.equals(section.begin.text())) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the lines of the file until the end of this section, inclusive.
+     */
+    private void skip(BufferedReader file) throws IOException {
+        var text = end.text();
+        for (var line = file.readLine(); line != null; line = file.readLine()) {
+            if (text.equals(line.trim())) {
+                return;
+            }
+        }
+        throw new IllegalStateException(
+                format("The generated section is not closed. Expected the line `%s`.", end));
+    }
+
+    /**
+     * Writes this section with the given code unless the code is empty.
+     *
+     * <p>The code is streamed line by line, so the section is not held in memory.
+     */
+    private void write(CodeWriter code, LineOutput lines, GenerationOptions options)
+            throws IOException {
+        var section = new SectionOutput(lines, begin.text(), options.lineSeparator());
+        code.writeTo(section, options);
+        if (section.begun) {
+            lines.write(end.text());
+        }
+    }
+
+    /**
+     * Splits the code written to a section into lines and passes them to the line output.
+     *
+     * <p>The line which begins the section is written before the first line of the code,
+     * so that an empty section is not written at all.
+     */
+    private static final class SectionOutput implements Appendable {
+
+        private final LineOutput lines;
+        private final String begin;
+        private final String lineSeparator;
+        private final StringBuilder line = new StringBuilder();
+        private boolean begun = false;
+
+        private SectionOutput(LineOutput lines, String begin, String lineSeparator) {
+            this.lines = lines;
+            this.begin = begin;
+            this.lineSeparator = lineSeparator;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            line.append(csq);
+            var length = line.length() - lineSeparator.length();
+            if (length >= 0 && line.indexOf(lineSeparator, length) == length) {
+                if (!begun) {
+                    lines.write(begin);
+                    begun = true;
+                }
+                lines.write(line.substring(0, length));
+                line.setLength(0);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            return append(String.valueOf(c));
+        }
+    }
+
+    /**
+     * Writes the lines to an output terminating each of them with the line separator.
+     */
+    private static final class LineOutput {
+
+        private final Appendable output;
+        private final String lineSeparator;
+        private final UnaryOperator<String> transformation;
+
+        private LineOutput(Appendable output,
+                           String lineSeparator,
+                           UnaryOperator<String> transformation) {
+            this.output = output;
+            this.lineSeparator = lineSeparator;
+            this.transformation = transformation;
+        }
+
+        private void write(String line) throws IOException {
+            output.append(transformation.apply(line))
+                  .append(lineSeparator);
+        }
+    }
+}
@@ -39,8 +39,8 @@ import static java.lang.String.format;
 @Immutable
 public final class Let extends Line {
 
-    private Let(String name, String initializer) {
-        super(format("let %s = %s;", name, initializer));
+    private Let(String content) {
+        super(content);
     }
 
     /**
@@ -49,7 +49,15 @@ public final class Let extends Line {
     public static Let withValue(String name, String value) {
         checkNotNull(name);
         checkNotNull(value);
-        return new Let(name, value);
+        return new Let(format("let %s = %s;", name, value));
+    }
+
+    /**
+     * Creates a declaration of a variable with no initial value.
+     */
+    public static Let uninitialized(String name) {
+        checkNotNull(name);
+        return new Let(format("let %s;", name));
     }
 
     /**
@@ -32,6 +32,7 @@ import io.spine.tools.js.code.MethodReference;
 import io.spine.tools.js.code.TypeName;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.field.FieldGenerator;
 import io.spine.tools.mc.js.code.field.FieldGenerators;
 import io.spine.tools.mc.js.code.field.FieldToParse;
@@ -71,6 +72,12 @@ public final class Parser implements Snippet {
      */
     private static final String MESSAGE = "msg";
 
+    /** The name of the variable holding the keys present in the parsed object. */
+    private static final String KEYS = "keys";
+
+    /** The name of the variable holding the index of the iterated key. */
+    private static final String KEY_INDEX = "keyIndex";
+
     /** The parameter name of the {@code fromObject} method. */
     @VisibleForTesting
     static final String FROM_OBJECT_ARG = "obj";
@@ -91,12 +98,24 @@ public final class Parser implements Snippet {
 
     public static final String TYPE_PARSERS_FILE = IMPORT_PATH_PREFIX + "type-parsers.js";
 
+    /** The prefix of the variables caching the parsers of the nested messages. */
+    private static final String CACHED_PARSER_PREFIX = "parser$";
+
     /** The message to generate the parser for. */
     private final Descriptor message;
 
+    /** The options of the generated code. */
+    private final GenerationOptions options;
+
     public Parser(Descriptor message) {
+        this(message, GenerationOptions.defaults());
+    }
+
+    public Parser(Descriptor message, GenerationOptions options) {
         checkNotNull(message);
+        checkNotNull(options);
         this.message = message;
+        this.options = options;
     }
 
     @Override
@@ -124,6 +143,19 @@ public final class Parser implements Snippet {
         return format("%s.%s(%s)", parserVariable, PARSE_METHOD, valueToParse);
     }
 
+    /**
+     * Obtains the name of the variable caching the parser of the given message type.
+     *
+     * <p>The variable is declared at the module scope of a file with generated parsers
+     * and is assigned on the first parsing of the type. The name is derived from
+     * the full name of the type, so the variables of different types never clash.
+     */
+    public static String cachedParserVariable(Descriptor message) {
+        checkNotNull(message);
+        return CACHED_PARSER_PREFIX + message.getFullName()
+                                             .replace('.', '$');
+    }
+
     /**
      * Obtains the type of the parser to be generated.
      */
@@ -165,7 +197,7 @@ public final class Parser implements Snippet {
         checkParsedObject(lines)
                 .append(emptyLine())
                 .append(initializedMessageInstance(message))
-                .append(parseFields(message))
+                .append(parseFields(message, options))
                 .append(Return.value(MESSAGE))
                 .exitMethod();
         return lines;
@@ -188,15 +220,51 @@ public final class Parser implements Snippet {
 
     /**
      * Obtains the code necessary to parse and set the message fields.
+     *
+     * <p>If the message has more fields than the {@linkplain
+     * GenerationOptions#keyDispatchThreshold() threshold}, the code iterates the keys present
+     * in the parsed object. Otherwise, the code checks each field of the message.
      */
-    private static CodeWriter parseFields(Descriptor message) {
+    private static CodeWriter parseFields(Descriptor message, GenerationOptions options) {
+        if (message.getFields().size() > options.keyDispatchThreshold()) {
+            return parsePresentFields(message, options);
+        }
         var lines = new CodeWriter();
         for (var field : message.getFields()) {
             lines.append(emptyLine());
             var fieldToParse = new FieldToParse(field, FROM_OBJECT_ARG, MESSAGE);
-            var generator = FieldGenerators.createFor(fieldToParse, lines);
+            var generator = FieldGenerators.createFor(fieldToParse, lines, options);
+            generator.generate();
+        }
+        return lines;
+    }
+
+    /**
+     * Obtains the code parsing the message fields present in the parsed object.
+     *
+     * <p>The code iterates the keys of the object and passes each of them to a {@code switch},
+     * which has a {@code case} with the code parsing each field of the message. The keys
+     * which do not match any field are ignored, as they are when the fields are checked one
+     * by one.
+     */
+    private static CodeWriter parsePresentFields(Descriptor message, GenerationOptions options) {
+        var loopHeader = format("for (let %s = 0; %s < %s.length; %s++)",
+                                KEY_INDEX, KEY_INDEX, KEYS, KEY_INDEX);
+        var lines = new CodeWriter()
+                .append(emptyLine())
+                .append(Let.withValue(KEYS, format("Object.keys(%s)", FROM_OBJECT_ARG)))
+                .enterBlock(loopHeader)
+                .enterBlock(format("switch (%s[%s])", KEYS, KEY_INDEX));
+        for (var field : message.getFields()) {
+            lines.enterBlock(format("case '%s':", field.getJsonName()));
+            var fieldToParse = new FieldToParse(field, FROM_OBJECT_ARG, MESSAGE);
+            var generator = FieldGenerators.createFor(fieldToParse, lines, options);
             generator.generate();
+            lines.append("break;")
+                 .exitBlock();
         }
+        lines.exitBlock()
+             .exitBlock();
         return lines;
     }
 
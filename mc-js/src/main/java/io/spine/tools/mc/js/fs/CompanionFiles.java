@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import io.spine.tools.js.fs.FileName;
+
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Utilities for working with companion files.
+ *
+ * <p>A companion file holds the code generated by the Model Compiler for a JavaScript file
+ * compiled by Protobuf Compiler. The companion file is located next to the compiled file.
+ * E.g., the companion of {@code spine/test/task_pb.js} is {@code spine/test/task_pb.mc.js}.
+ *
+ * <p>Companion files are created when the Model Compiler runs as a {@code protoc} plugin,
+ * and thus cannot add code to the compiled files.
+ */
+public final class CompanionFiles {
+
+    private static final String COMPANION_EXTENSION = ".mc" + JsFile.EXTENSION;
+
+    /** Prevents instantiation of this utility class. */
+    private CompanionFiles() {
+    }
+
+    /**
+     * Obtains the path to the companion file from the root of the generated code.
+     *
+     * @param compiledFile
+     *         the name of the compiled file
+     */
+    public static String nameOf(FileName compiledFile) {
+        checkNotNull(compiledFile);
+        return companionName(compiledFile.toString());
+    }
+
+    /**
+     * Obtains the path of the companion of the compiled file at the given path.
+     */
+    public static Path pathOf(Path compiledFile) {
+        checkNotNull(compiledFile);
+        var fileName = compiledFile.getFileName()
+                                   .toString();
+        return compiledFile.resolveSibling(companionName(fileName));
+    }
+
+    private static String companionName(String compiledFile) {
+        checkArgument(compiledFile.endsWith(JsFile.EXTENSION),
+                      "A JavaScript file is expected. Passed: `%s`.", compiledFile);
+        var withoutExtension =
+                compiledFile.substring(0, compiledFile.length() - JsFile.EXTENSION.length());
+        return withoutExtension + COMPANION_EXTENSION;
+    }
+}
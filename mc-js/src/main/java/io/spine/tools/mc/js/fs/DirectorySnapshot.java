@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.Immutable;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+/**
+ * The paths of all the files and directories under a root directory,
+ * collected by a single walk of the directory.
+ *
+ * <p>The code generation checks if files exist many times. The snapshot answers
+ * such checks for the paths under the root directory without accessing the file system.
+ * The existence of other paths is checked on the file system.
+ *
+ * <p>The snapshot does not reflect the changes made after it was taken. Also, the symbolic
+ * links to directories are not followed when walking the root directory.
+ *
+ * <p>If the root directory is a part of a {@linkplain #asCopyOf(Path, Path) copy} of another
+ * directory, the paths leading out of the copy are checked as if the copy were located
+ * at the original directory.
+ */
+@Immutable
+public final class DirectorySnapshot {
+
+    private static final DirectorySnapshot NONE =
+            new DirectorySnapshot(null, ImmutableSet.of(), null, null);
+
+    @SuppressWarnings("Immutable") // `Path` instances are immutable.
+    private final @Nullable Path root;
+
+    @SuppressWarnings("Immutable") // `Path` instances are immutable.
+    private final ImmutableSet<Path> paths;
+
+    @SuppressWarnings("Immutable") // `Path` instances are immutable.
+    private final @Nullable Path copy;
+
+    @SuppressWarnings("Immutable") // `Path` instances are immutable.
+    private final @Nullable Path original;
+
+    private DirectorySnapshot(@Nullable Path root,
+                              ImmutableSet<Path> paths,
+                              @Nullable Path copy,
+                              @Nullable Path original) {
+        this.root = root;
+        this.paths = paths;
+        this.copy = copy;
+        this.original = original;
+    }
+
+    /**
+     * Takes a snapshot of the given directory.
+     *
+     * <p>If the directory does not exist, the snapshot tells that
+     * no paths under the directory exist.
+     *
+     * @throws IllegalStateException
+     *         if the directory cannot be walked
+     */
+    public static DirectorySnapshot of(Path root) {
+        checkNotNull(root);
+        var normalizedRoot = normalize(root);
+        try (var walk = Files.walk(normalizedRoot)) {
+            var paths = walk.collect(toImmutableSet());
+            return new DirectorySnapshot(normalizedRoot, paths, null, null);
+        } catch (NoSuchFileException e) {
+            return new DirectorySnapshot(normalizedRoot, ImmutableSet.of(), null, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Obtains the snapshot of no directory.
+     *
+     * <p>The existence of all paths is checked on the file system.
+     */
+    public static DirectorySnapshot none() {
+        return NONE;
+    }
+
+    /**
+     * Obtains the snapshot which treats the given copy of a directory as if it were
+     * located at the original directory.
+     *
+     * <p>The paths under the copy are checked as they are. The other paths are resolved
+     * against the original directory, so that a relative path leading out of the copy
+     * refers to the same file as it does from the original directory.
+     *
+     * @param copy
+     *         the copy which contains the root directory of this snapshot
+     * @param original
+     *         the directory the copy was made from
+     */
+    public DirectorySnapshot asCopyOf(Path copy, Path original) {
+        checkNotNull(copy);
+        checkNotNull(original);
+        return new DirectorySnapshot(root, paths, normalize(copy), normalize(original));
+    }
+
+    /**
+     * Tells if the file or directory with the given path exists.
+     */
+    public boolean exists(Path path) {
+        checkNotNull(path);
+        var normalized = normalize(path);
+        if (root != null && normalized.startsWith(root)) {
+            return paths.contains(normalized);
+        }
+        if (copy != null && original != null && !normalized.startsWith(copy)) {
+            var relocated = original.resolve(copy.relativize(normalized))
+                                    .normalize();
+            return Files.exists(relocated);
+        }
+        return Files.exists(normalized);
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath()
+                   .normalize();
+    }
+}
@@ -26,76 +26,141 @@
 
 package io.spine.tools.mc.js.fs;
 
-import com.google.common.base.Charsets;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.text.GeneratedSection;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.js.fs.JsFiles.resolve;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.APPEND;
-import static java.nio.file.StandardOpenOption.CREATE;
-import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 
 /**
  * A writer of JavaScript code into a file.
  *
+ * <p>Each written line is terminated by the {@linkplain GenerationOptions#lineSeparator()
+ * line separator} from the generation options, so the written files do not depend
+ * on the platform.
+ *
+ * <p>The writer does not overwrite a file if the file already has the content to write.
+ * This way, the modification time of such a file is preserved, and the tools watching
+ * the generated code are not triggered needlessly.
+ *
  * <p>The class wraps all {@link IOException}s which occur during its operations in the
  * {@link IllegalStateException}.
  */
 public final class FileWriter {
 
+    /**
+     * The suffix of the temporary file into which the file content is written before
+     * replacing the file.
+     */
+    static final String TEMP_FILE_SUFFIX = ".tmp";
+
     /**
      * The path of the file to write into.
      */
     private final Path path;
 
-    private FileWriter(Path path) {
+    /**
+     * The options of the written code.
+     */
+    private final GenerationOptions options;
+
+    private FileWriter(Path path, GenerationOptions options) {
         this.path = path;
+        this.options = options;
     }
 
     /**
      * Creates a new writer for the file with the specified location and the name.
+     *
+     * <p>The writer uses the {@linkplain GenerationOptions#defaults() default} options.
      */
     public static FileWriter newInstance(SourceCodeDirectory directory, FileName fileName) {
+        return newInstance(directory, fileName, GenerationOptions.defaults());
+    }
+
+    /**
+     * Creates a new writer for the file with the specified location and the name.
+     */
+    public static FileWriter newInstance(SourceCodeDirectory directory,
+                                         FileName fileName,
+                                         GenerationOptions options) {
         var filePath = resolve(directory, fileName);
-        return new FileWriter(filePath);
+        return newInstance(filePath, options);
     }
 
     /**
      * Creates a new instance which will operate on the file pointed by the file descriptor
      * and located in the specified directory.
+     *
+     * <p>The writer uses the {@linkplain GenerationOptions#defaults() default} options.
      */
     public static FileWriter newInstance(SourceCodeDirectory directory, FileDescriptor file) {
+        return newInstance(directory, file, GenerationOptions.defaults());
+    }
+
+    /**
+     * Creates a new instance which will operate on the file pointed by the file descriptor
+     * and located in the specified directory.
+     */
+    public static FileWriter newInstance(SourceCodeDirectory directory,
+                                         FileDescriptor file,
+                                         GenerationOptions options) {
         var fileName = FileName.from(file);
-        return newInstance(directory, fileName);
+        return newInstance(directory, fileName, options);
+    }
+
+    /**
+     * Creates a new writer for the file with the specified path.
+     */
+    public static FileWriter newInstance(Path path, GenerationOptions options) {
+        checkNotNull(path);
+        checkNotNull(options);
+        return new FileWriter(path, options);
     }
 
     /**
      * Writes the given output to the file.
      *
-     * <p>Overwrites the previous file content.
+     * <p>Overwrites the previous file content unless it is the same as the output.
      *
      * @param jsOutput
      *         the JavaScript code to write to the file
+     * @return {@code true} if the file was written, {@code false} if the file
+     *         already had the same content
      * @throws IllegalStateException
      *         if something went wrong when writing to file
      */
-    public void write(CodeWriter jsOutput) {
+    @CanIgnoreReturnValue
+    public boolean write(CodeWriter jsOutput) {
         checkNotNull(jsOutput);
-        try {
-            Files.write(path,
-                        jsOutput.separated(),
-                        Charsets.UTF_8,
-                        CREATE, TRUNCATE_EXISTING);
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
-        }
+        var current = Files.isRegularFile(path)
+                      ? content()
+                      : null;
+        return replace(current, out -> jsOutput.writeTo(out, options));
     }
 
     /**
@@ -105,13 +170,167 @@ public final class FileWriter {
      *         the {@code JsOutput} to append
      * @throws IllegalStateException
      *         if something went wrong when writing to file
+     * @deprecated please put the code into a {@linkplain GeneratedSection section} of the file
+     *         using {@link #writeSections(Map, UnaryOperator)}, so that writing the code again
+     *         replaces it instead of adding it once more
      */
+    @Deprecated
     public void append(CodeWriter jsOutput) {
         checkNotNull(jsOutput);
+        try (var out = Files.newBufferedWriter(path, UTF_8, APPEND)) {
+            jsOutput.writeTo(out, options);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Puts the given code into the {@linkplain GeneratedSection sections} of the file.
+     *
+     * <p>The file is read once. Its lines are streamed through the sections into a temporary
+     * file next to the file, and the written bytes are compared to the bytes of the file along
+     * the way. If the content differs, the temporary file replaces the file. Otherwise,
+     * the file is left untouched.
+     *
+     * @param sections
+     *         the code to put into each section
+     * @param transformation
+     *         the function to apply to each written line
+     * @return {@code true} if the file was written, {@code false} if the file
+     *         already had the same content
+     * @throws IllegalStateException
+     *         if something went wrong when reading or writing the file
+     * @see GeneratedSection#putAll
+     */
+    @CanIgnoreReturnValue
+    public boolean writeSections(Map<GeneratedSection, CodeWriter> sections,
+                                 UnaryOperator<String> transformation) {
+        checkNotNull(sections);
+        checkNotNull(transformation);
+        var current = content();
+        return replace(current, out -> {
+            var fileLines = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(current), UTF_8)
+            );
+            GeneratedSection.putAll(fileLines, out, sections, options, transformation);
+        });
+    }
+
+    /**
+     * Puts the given code into the {@linkplain GeneratedSection sections} of the file.
+     *
+     * @see #writeSections(Map, UnaryOperator)
+     */
+    @CanIgnoreReturnValue
+    public boolean writeSections(Map<GeneratedSection, CodeWriter> sections) {
+        return writeSections(sections, UnaryOperator.identity());
+    }
+
+    private byte[] content() {
         try {
-            Files.write(path, jsOutput.separated(), Charsets.UTF_8, APPEND);
+            return Files.readAllBytes(path);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * Renders the new content of the file into a temporary file and replaces the file with it
+     * unless the content is the same as the current one.
+     *
+     * @param current
+     *         the current content of the file or {@code null} if there is no file
+     * @param rendering
+     *         the function writing the new content
+     * @return {@code true} if the file was replaced, {@code false} otherwise
+     */
+    private boolean replace(byte @Nullable [] current, Rendering rendering) {
+        var tempFile = path.resolveSibling(path.getFileName() + TEMP_FILE_SUFFIX);
+        try {
+            var comparison = new ContentComparison(
+                    current, new BufferedOutputStream(Files.newOutputStream(tempFile))
+            );
+            try (var out = new OutputStreamWriter(comparison, UTF_8)) {
+                rendering.renderTo(out);
+            }
+            if (comparison.matches()) {
+                return false;
+            }
+            Files.move(tempFile, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteIfExists(tempFile);
+        }
+    }
+
+    static void deleteIfExists(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A function writing the new content of a file.
+     */
+    private interface Rendering {
+
+        void renderTo(Writer out) throws IOException;
+    }
+
+    /**
+     * A stream which compares the bytes written into it to the given bytes.
+     *
+     * <p>The written bytes are passed to the given target stream as is.
+     */
+    private static final class ContentComparison extends OutputStream {
+
+        private final byte @Nullable [] expected;
+        private final OutputStream target;
+        private int position = 0;
+        private boolean matches;
+
+        private ContentComparison(byte @Nullable [] expected, OutputStream target) {
+            this.expected = expected;
+            this.target = target;
+            this.matches = expected != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            if (!matches) {
+                return;
+            }
+            var end = position + len;
+            matches = end <= expected.length
+                    && Arrays.equals(expected, position, end, b, off, off + len);
+            position = end;
+        }
+
+        /**
+         * Tells if the written bytes are the same as all the expected bytes.
+         */
+        private boolean matches() {
+            return matches && position == expected.length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * Counts the files written by the code generation and the files left untouched because
+ * their content would not change.
+ *
+ * <p>The counter may be shared between threads.
+ */
+public final class FileWrites {
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * Records the result of writing a file.
+     *
+     * @param fileWritten
+     *         {@code true} if the file was written, {@code false} if it was skipped
+     * @return this instance for call chaining
+     */
+    @CanIgnoreReturnValue
+    public FileWrites record(boolean fileWritten) {
+        if (fileWritten) {
+            written.incrementAndGet();
+        } else {
+            skipped.incrementAndGet();
+        }
+        return this;
+    }
+
+    /**
+     * Adds the counts of the given instance to this one.
+     *
+     * @return this instance for call chaining
+     */
+    @CanIgnoreReturnValue
+    public FileWrites add(FileWrites other) {
+        checkNotNull(other);
+        written.addAndGet(other.written());
+        skipped.addAndGet(other.skipped());
+        return this;
+    }
+
+    /**
+     * Obtains the number of written files.
+     */
+    public int written() {
+        return written.get();
+    }
+
+    /**
+     * Obtains the number of files which were not written because their content did not change.
+     */
+    public int skipped() {
+        return skipped.get();
+    }
+
+    @Override
+    public String toString() {
+        return format("%d file(s) written, %d unchanged file(s) skipped", written(), skipped());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * The results of resolving import statements memoized for the files of the generated code.
+ *
+ * <p>The generated files import the same files many times. Such imports refer to the same
+ * file with the same reference, so they are resolved the same way. The cache stores
+ * the resolved reference by the path to the imported file and the original reference.
+ *
+ * <p>The resolution also depends on the root directory of the generated code, the modules
+ * among which imports are resolved, and the files present on the file system. So, a cache
+ * should be shared only by the code generation which uses the same root directory and
+ * the same modules, and only until the imported files change.
+ *
+ * <p>The cache may be shared between threads.
+ */
+public final class ImportCache {
+
+    private final Map<Key, String> resolvedRefs = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Obtains the resolved reference of the given import statement.
+     *
+     * @param statement
+     *         the statement to resolve
+     * @param resolution
+     *         resolves the statement if it is not cached yet
+     * @return the resolved reference
+     */
+    String resolvedRef(ImportStatement statement, Supplier<ImportStatement> resolution) {
+        checkNotNull(statement);
+        checkNotNull(resolution);
+        var key = new Key(statement.importedFilePath(), statement.fileRef().value());
+        var cached = resolvedRefs.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        var resolved = resolution.get()
+                                 .fileRef()
+                                 .value();
+        resolvedRefs.putIfAbsent(key, resolved);
+        return resolved;
+    }
+
+    /**
+     * Obtains the number of imports resolved using the cached results.
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Obtains the number of imports resolved without the cached results.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return format("%d import(s) resolved, %d of them cached", hits() + misses(), hits());
+    }
+
+    /**
+     * The key of a resolved reference.
+     */
+    private static final class Key {
+
+        private final Path importedFile;
+        private final String ref;
+
+        private Key(Path importedFile, String ref) {
+            this.importedFile = importedFile;
+            this.ref = ref;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            var other = (Key) o;
+            return importedFile.equals(other.importedFile) && ref.equals(other.ref);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(importedFile, ref);
+        }
+    }
+}
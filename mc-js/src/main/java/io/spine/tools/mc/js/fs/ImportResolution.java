@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.FileReference;
+import io.spine.tools.fs.Generated;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Resolves the imports of the generated files while the files are written.
+ *
+ * <p>Resolving the imports on the way saves writing a file once more just to
+ * rewrite its imports.
+ */
+public final class ImportResolution {
+
+    private static final ImportResolution NONE = new ImportResolution(null, null, null);
+
+    private final @Nullable Path generatedRoot;
+    private final @Nullable ExternalModules modules;
+    private final @Nullable ImportCache imports;
+
+    private ImportResolution(@Nullable Path generatedRoot,
+                             @Nullable ExternalModules modules,
+                             @Nullable ImportCache imports) {
+        this.generatedRoot = generatedRoot;
+        this.modules = modules;
+        this.imports = imports;
+    }
+
+    /**
+     * Creates the resolution of the imports among the given modules.
+     *
+     * @param generatedRoot
+     *         the root directory of the generated code
+     * @param modules
+     *         the modules to resolve imports among
+     * @param imports
+     *         the cache of the resolved imports
+     */
+    public static ImportResolution among(Generated generatedRoot,
+                                         ExternalModules modules,
+                                         ImportCache imports) {
+        checkNotNull(generatedRoot);
+        checkNotNull(modules);
+        checkNotNull(imports);
+        return new ImportResolution(generatedRoot.path(), modules, imports);
+    }
+
+    /**
+     * Obtains the resolution which leaves the imports as is.
+     */
+    public static ImportResolution none() {
+        return NONE;
+    }
+
+    /**
+     * Obtains the reference to the given file in the module providing it.
+     *
+     * <p>Unlike the {@linkplain #in(Path, DirectorySnapshot) resolution} of the imports
+     * of a file, the method does not check if the referenced file is present on the file
+     * system. So, the reference is valid only for the files which are never generated
+     * into the project, such as the parsers of Spine Web.
+     *
+     * @param file
+     *         the path to the file relative to the root directory of the generated code
+     * @param modules
+     *         the modules to search among
+     * @return the reference to the file in the first module which provides it, or
+     *         {@code Optional.empty()} if none of the modules provides the file
+     */
+    public static Optional<String> inModule(String file, ExternalModules modules) {
+        checkNotNull(file);
+        checkNotNull(modules);
+        // Modules match a file by its directory no matter how deep the importing file is.
+        var reference = FileReference.of(FileReference.currentDirectory() + file);
+        var result = ModuleTrie.of(modules)
+                               .moduleProviding(reference)
+                               .map(module -> module.fileInModule(reference).value());
+        return result;
+    }
+
+    /**
+     * Obtains the function which resolves the import declared in a line of the given file.
+     *
+     * @param file
+     *         the JavaScript file which lines are resolved
+     * @param snapshot
+     *         the snapshot used to check if the imported files exist
+     */
+    public UnaryOperator<String> in(Path file, DirectorySnapshot snapshot) {
+        checkNotNull(file);
+        checkNotNull(snapshot);
+        if (generatedRoot == null || modules == null || imports == null) {
+            return UnaryOperator.identity();
+        }
+        var jsFile = new JsFile(file, snapshot, imports);
+        return jsFile.importResolution(generatedRoot, modules);
+    }
+}
@@ -26,7 +26,6 @@
 
 package io.spine.tools.mc.js.fs;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.errorprone.annotations.Immutable;
 import io.spine.logging.WithLogging;
 import io.spine.tools.code.Element;
@@ -54,7 +53,7 @@ final class ImportStatement implements Element, WithLogging {
     private static final Pattern GOOGLE_PROTOBUF_MODULE_PATTERN =
             Pattern.compile(GOOGLE_PROTOBUF_MODULE + FileReference.separator());
 
-    private static final String IMPORT_START = "require('";
+    static final String IMPORT_START = "require('";
     private static final String IMPORT_END = "')";
 
     /**
@@ -67,6 +66,7 @@ final class ImportStatement implements Element, WithLogging {
     private final Path sourceDirectory;
     private final String text;
     private final FileReference importRef;
+    private final DirectorySnapshot snapshot;
 
     /**
      * Creates a new instance.
@@ -78,13 +78,15 @@ final class ImportStatement implements Element, WithLogging {
      */
     ImportStatement(JsFile file, String line) {
         this(requireNonNull(file.parent(), "File has no parent."),
-             checkNotNull(line, "Null line passed."));
+             checkNotNull(line, "Null line passed."),
+             file.snapshot());
     }
 
-    private ImportStatement(Path sourceDirectory, String line) {
+    private ImportStatement(Path sourceDirectory, String line, DirectorySnapshot snapshot) {
         this.sourceDirectory = sourceDirectory;
         this.text = ensureImport(line);
         this.importRef = fileRefValue(line);
+        this.snapshot = snapshot;
     }
 
     private static String ensureImport(String line) {
@@ -149,11 +151,12 @@ final class ImportStatement implements Element, WithLogging {
         if (mainSourceImport.isPresent()) {
             return mainSourceImport.get();
         }
-        for (var module : modules.asList()) {
-            if (module.provides(importRef)) {
-                var fileInModule = module.fileInModule(importRef);
-                return replaceRef(fileInModule.value());
-            }
+        var module = ModuleTrie.of(modules)
+                               .moduleProviding(importRef);
+        if (module.isPresent()) {
+            var fileInModule = module.get()
+                                     .fileInModule(importRef);
+            return replaceRef(fileInModule.value());
         }
         return this;
     }
@@ -191,7 +194,6 @@ final class ImportStatement implements Element, WithLogging {
     /**
      * Obtains the file reference used in this import.
      */
-    @VisibleForTesting
     FileReference fileRef() {
         return importRef;
     }
@@ -208,7 +210,7 @@ final class ImportStatement implements Element, WithLogging {
      */
     public ImportStatement replaceRef(CharSequence newFileRef) {
         var updatedText = text.replace(importRef.value(), newFileRef);
-        return new ImportStatement(sourceDirectory, updatedText);
+        return new ImportStatement(sourceDirectory, updatedText, snapshot);
     }
 
     @Override
@@ -229,8 +231,7 @@ final class ImportStatement implements Element, WithLogging {
      */
     private boolean importedFileExists() {
         var filePath = importedFilePath();
-        var exists = filePath.toFile()
-                             .exists();
+        var exists = snapshot.exists(filePath);
         logger().atDebug()
                 .log(() -> format("Checking if the imported file `%s` exists, result: %b.",
                                   filePath, exists));
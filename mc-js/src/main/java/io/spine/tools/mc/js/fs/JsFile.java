@@ -27,12 +27,23 @@
 package io.spine.tools.mc.js.fs;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.spine.tools.fs.ExternalModules;
 import io.spine.tools.fs.FileWithImports;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
  * A JavaScript file present on a file system.
@@ -42,17 +53,221 @@ public final class JsFile extends FileWithImports {
     @VisibleForTesting
     public static final String EXTENSION = ".js";
 
+    /**
+     * The bytes which start an import statement.
+     *
+     * <p>Since the statement consists of ASCII characters, its bytes cannot be a part
+     * of a multibyte character in UTF-8.
+     */
+    private static final byte[] IMPORT_START_BYTES = ImportStatement.IMPORT_START.getBytes(UTF_8);
+
+    /**
+     * The snapshot used to check if the imported files exist.
+     */
+    private final DirectorySnapshot snapshot;
+
+    /**
+     * The cache of the resolved imports.
+     */
+    private final ImportCache imports;
+
     /**
      * Creates a new instance.
      *
+     * <p>The existence of the imported files is checked on the file system.
+     *
      * @param path
      *         the path to existing JavaScript file
      */
     public JsFile(Path path) {
+        this(path, DirectorySnapshot.none());
+    }
+
+    /**
+     * Creates a new instance which checks if the imported files exist using
+     * the given snapshot.
+     *
+     * @param path
+     *         the path to existing JavaScript file
+     * @param snapshot
+     *         the snapshot of the directory with the generated code
+     */
+    public JsFile(Path path, DirectorySnapshot snapshot) {
+        this(path, snapshot, new ImportCache());
+    }
+
+    /**
+     * Creates a new instance which checks if the imported files exist using
+     * the given snapshot and reuses the imports resolved for other files.
+     *
+     * @param path
+     *         the path to existing JavaScript file
+     * @param snapshot
+     *         the snapshot of the directory with the generated code
+     * @param imports
+     *         the cache of the resolved imports shared with other files
+     */
+    public JsFile(Path path, DirectorySnapshot snapshot, ImportCache imports) {
         super(path);
         var fileName = path.toString();
         checkArgument(fileName.endsWith(EXTENSION),
                       "A JavaScript file is expected. Passed: `%s`.", fileName);
+        this.snapshot = checkNotNull(snapshot);
+        this.imports = checkNotNull(imports);
+    }
+
+    /**
+     * Obtains the snapshot used to check if the imported files exist.
+     */
+    DirectorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Obtains the function which resolves the import declared in a line of this file.
+     *
+     * <p>The function returns the lines which do not declare imports as is.
+     *
+     * @param generatedRoot
+     *         the root directory of the generated code
+     * @param modules
+     *         the modules to resolve imports among
+     */
+    public UnaryOperator<String> importResolution(Path generatedRoot, ExternalModules modules) {
+        checkNotNull(generatedRoot);
+        checkNotNull(modules);
+        return line -> isImport(line)
+                       ? resolveImport(line, generatedRoot, modules)
+                       : line;
+    }
+
+    /**
+     * Resolves imports in this file and writes the file if any import changes.
+     *
+     * <p>Unlike {@link #resolveImports(Path, ExternalModules)}, this method does not split
+     * the file into lines. It searches the content of the file for import statements,
+     * resolves only the lines which declare imports, and copies the bytes between such lines
+     * as is. So, the line separators of the rest of the file are preserved.
+     *
+     * <p>The file is not written if none of its imports changes.
+     *
+     * @param generatedRoot
+     *         the root directory of the generated code
+     * @param modules
+     *         the modules to resolve imports among
+     * @return {@code true} if the file was written, {@code false} otherwise
+     * @throws IllegalStateException
+     *         if the file cannot be read or written
+     */
+    @CanIgnoreReturnValue
+    public boolean rewriteImports(Path generatedRoot, ExternalModules modules) {
+        checkNotNull(generatedRoot);
+        checkNotNull(modules);
+        var content = readBytes();
+        var replacements = new ArrayList<ImportReplacement>();
+        var lineStart = 0;
+        var importStart = indexOf(content, IMPORT_START_BYTES, 0);
+        while (importStart >= 0) {
+            lineStart = lineStartBefore(content, importStart, lineStart);
+            var lineEnd = lineEndAfter(content, importStart);
+            var line = new String(content, lineStart, lineEnd - lineStart, UTF_8);
+            var resolved = resolveImport(line, generatedRoot, modules);
+            if (!resolved.equals(line)) {
+                replacements.add(new ImportReplacement(lineStart, lineEnd, resolved));
+            }
+            lineStart = lineEnd;
+            importStart = indexOf(content, IMPORT_START_BYTES, lineEnd);
+        }
+        if (replacements.isEmpty()) {
+            return false;
+        }
+        write(content, replacements);
+        return true;
+    }
+
+    private byte[] readBytes() {
+        try {
+            return Files.readAllBytes(path());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the given content replacing the given ranges of bytes.
+     *
+     * <p>The content is written into a temporary file next to this one, which then replaces
+     * this file. So, the file is never left partially written.
+     */
+    private void write(byte[] content, List<ImportReplacement> replacements) {
+        var path = path();
+        var tempFile = path.resolveSibling(path.getFileName() + FileWriter.TEMP_FILE_SUFFIX);
+        try {
+            try (var out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                var copiedUntil = 0;
+                for (var replacement : replacements) {
+                    out.write(content, copiedUntil, replacement.start - copiedUntil);
+                    out.write(replacement.line.getBytes(UTF_8));
+                    copiedUntil = replacement.end;
+                }
+                out.write(content, copiedUntil, content.length - copiedUntil);
+            }
+            Files.move(tempFile, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            FileWriter.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Finds the first occurrence of the given bytes in the content starting from
+     * the given index.
+     *
+     * @return the index of the occurrence or {@code -1} if there is none
+     */
+    private static int indexOf(byte[] content, byte[] target, int fromIndex) {
+        var lastStart = content.length - target.length;
+        for (var i = fromIndex; i <= lastStart; i++) {
+            if (content[i] == target[0] && startsWith(content, target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] content, byte[] prefix, int index) {
+        for (var i = 1; i < prefix.length; i++) {
+            if (content[index + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the index at which the line containing the given index starts.
+     *
+     * <p>The search does not go before the {@code lowerBound}.
+     */
+    private static int lineStartBefore(byte[] content, int index, int lowerBound) {
+        var result = index;
+        while (result > lowerBound && content[result - 1] != '\n') {
+            result--;
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the index at which the line containing the given index ends, excluding
+     * the line separator.
+     */
+    private static int lineEndAfter(byte[] content, int index) {
+        var result = index;
+        while (result < content.length && content[result] != '\n' && content[result] != '\r') {
+            result++;
+        }
+        return result;
     }
 
     @Override
@@ -63,7 +278,26 @@ public final class JsFile extends FileWithImports {
     @Override
     protected String resolveImport(String line, Path generatedRoot, ExternalModules modules) {
         var importLine = new ImportStatement(this, line);
-        var resolved = importLine.resolve(generatedRoot, modules);
-        return resolved.text();
+        var resolvedRef = imports.resolvedRef(
+                importLine, () -> importLine.resolve(generatedRoot, modules)
+        );
+        return importLine.replaceRef(resolvedRef)
+                         .text();
+    }
+
+    /**
+     * A range of bytes in a file to replace with the resolved import line.
+     */
+    private static final class ImportReplacement {
+
+        private final int start;
+        private final int end;
+        private final String line;
+
+        private ImportReplacement(int start, int end, String line) {
+            this.start = start;
+            this.end = end;
+            this.line = line;
+        }
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.spine.tools.fs.ExternalModule;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.FileReference;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A trie of the directories of file references, which finds the module providing
+ * a referenced file.
+ *
+ * <p>Each node of the trie corresponds to a segment of a directory path. A node remembers
+ * the first of the {@linkplain ExternalModules#asList() modules} which provides the files
+ * from its directory. Thus, the modules are checked only once per directory, and finding
+ * the module for a file takes the time proportional to the depth of its directory.
+ *
+ * <p>Modules match the files by their directories, so all the files from the same
+ * directory are provided by the same module. {@link ExternalModule} does not expose
+ * its directory patterns, so the trie is populated with the results of
+ * {@link ExternalModule#provides(FileReference)} lazily rather than built from the patterns.
+ *
+ * <p>The trie may be used by several threads.
+ */
+final class ModuleTrie {
+
+    /**
+     * The tries by the modules they search among.
+     *
+     * <p>The keys are compared by identity and are weakly referenced.
+     */
+    private static final Cache<ExternalModules, ModuleTrie> tries =
+            CacheBuilder.newBuilder()
+                        .weakKeys()
+                        .build();
+
+    private final ImmutableList<ExternalModule> modules;
+    private final Node root = new Node();
+
+    private ModuleTrie(ExternalModules modules) {
+        this.modules = ImmutableList.copyOf(modules.asList());
+    }
+
+    /**
+     * Obtains the trie for the given modules.
+     *
+     * <p>The same trie is returned for the same instance of {@code ExternalModules}.
+     */
+    static ModuleTrie of(ExternalModules modules) {
+        checkNotNull(modules);
+        try {
+            return tries.get(modules, () -> new ModuleTrie(modules));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Finds the first module which provides the referenced file.
+     */
+    Optional<ExternalModule> moduleProviding(FileReference reference) {
+        checkNotNull(reference);
+        var segments = reference.value()
+                                .split(FileReference.separator());
+        var node = root;
+        // The last segment is the name of the file.
+        for (var i = 0; i < segments.length - 1; i++) {
+            node = node.child(segments[i]);
+        }
+        return node.module(reference);
+    }
+
+    private Optional<ExternalModule> findModule(FileReference reference) {
+        for (var module : modules) {
+            if (module.provides(reference)) {
+                return Optional.of(module);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A node of the trie corresponding to a directory.
+     */
+    private final class Node {
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        /**
+         * The module providing the files from the directory.
+         *
+         * <p>Is {@code null} until the directory is looked up for the first time.
+         */
+        @SuppressWarnings("OptionalUsedAsFieldOrParameterType") // Distinguishes "not found".
+        private volatile @Nullable Optional<ExternalModule> module;
+
+        private Node child(String segment) {
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private Optional<ExternalModule> module(FileReference reference) {
+            var result = module;
+            if (result == null) {
+                result = findModule(reference);
+                module = result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.code.fs.SourceCodeDirectory;
+import io.spine.code.proto.FileSet;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.tools.js.fs.LibraryFile.INDEX;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Copies the JavaScript files compiled by Protobuf Compiler for a source set into
+ * the output directory of the {@link GenerateJsonParsers} task.
+ *
+ * <p>The task enhances the copies and never changes the compiled files, so the compiled files
+ * stay the inputs of the task, and the copies are its outputs.
+ *
+ * <p>The JavaScript files of the Protobuf files to process are copied as is. The copies of
+ * the other Protobuf files were enhanced during a previous execution of the task, so they
+ * are kept. The rest of the compiled files are copied only if their copies differ.
+ * The copies of the files which are no longer compiled are deleted, except for the index
+ * file, which the task generates itself.
+ */
+final class CompiledFiles {
+
+    private final SourceCodeDirectory compiledRoot;
+    private final SourceCodeDirectory outputRoot;
+
+    private CompiledFiles(SourceCodeDirectory compiledRoot, SourceCodeDirectory outputRoot) {
+        this.compiledRoot = compiledRoot;
+        this.outputRoot = outputRoot;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param compiledRoot
+     *         the directory with the JavaScript code compiled for a source set
+     * @param outputRoot
+     *         the directory with the JavaScript code generated by the task for the source set
+     */
+    static CompiledFiles copying(SourceCodeDirectory compiledRoot,
+                                 SourceCodeDirectory outputRoot) {
+        checkNotNull(compiledRoot);
+        checkNotNull(outputRoot);
+        return new CompiledFiles(compiledRoot, outputRoot);
+    }
+
+    /**
+     * Copies the compiled files into the output directory.
+     *
+     * @param allFiles
+     *         all the Protobuf files of the source set
+     * @param processed
+     *         the Protobuf files to be processed by the task
+     */
+    void copy(FileSet allFiles, FileSet processed) {
+        checkNotNull(allFiles);
+        checkNotNull(processed);
+        var protoJsFiles = jsFilesOf(allFiles);
+        var processedJsFiles = jsFilesOf(processed);
+        var compiled = compiledRoot.path();
+        var output = outputRoot.path();
+        var compiledFiles = filesUnder(compiled);
+        for (var file : compiledFiles) {
+            var source = compiled.resolve(file);
+            var target = output.resolve(file);
+            var copy = processedJsFiles.contains(file)
+                    || !protoJsFiles.contains(file) && differ(source, target);
+            if (copy) {
+                copy(source, target);
+            }
+        }
+        var indexFile = output.relativize(JsFiles.resolve(outputRoot, INDEX.fileName()));
+        for (var file : filesUnder(output)) {
+            if (!compiledFiles.contains(file) && !indexFile.equals(file)) {
+                delete(output.resolve(file));
+            }
+        }
+    }
+
+    /**
+     * Obtains the paths of the compiled files and the companion files of the given Protobuf
+     * files relative to the directory with the compiled code.
+     */
+    private Set<Path> jsFilesOf(FileSet files) {
+        var compiled = compiledRoot.path();
+        var result = new HashSet<Path>();
+        for (var file : files.files()) {
+            var jsFile = compiled.relativize(JsFiles.resolve(compiledRoot, FileName.from(file)));
+            result.add(jsFile);
+            result.add(CompanionFiles.pathOf(jsFile));
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the paths of all the regular files under the given directory relative to it.
+     *
+     * <p>If the directory does not exist, the returned set is empty.
+     */
+    private static ImmutableSet<Path> filesUnder(Path directory) {
+        try (var walk = Files.walk(directory)) {
+            return walk.filter(Files::isRegularFile)
+                       .map(directory::relativize)
+                       .collect(toImmutableSet());
+        } catch (NoSuchFileException e) {
+            return ImmutableSet.of();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean differ(Path source, Path target) {
+        try {
+            if (!Files.exists(target) || Files.size(source) != Files.size(target)) {
+                return true;
+            }
+            return !Arrays.equals(Files.readAllBytes(source), Files.readAllBytes(target));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void copy(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
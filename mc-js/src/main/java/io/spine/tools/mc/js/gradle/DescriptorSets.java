@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.spine.code.proto.FileSet;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Parses descriptor set files into {@link FileSet}s.
+ *
+ * <p>The parsed file sets are cached, so that the subsequent builds run by the same Gradle
+ * daemon do not parse the same descriptor set file again. A cached file set is reused
+ * as long as the file is not modified.
+ */
+final class DescriptorSets {
+
+    private static final Cache<String, FileSet> parsed = CacheBuilder.newBuilder()
+            .softValues()
+            .build();
+
+    /** Prevents instantiation of this utility class. */
+    private DescriptorSets() {
+    }
+
+    /**
+     * Obtains the Protobuf files from the given descriptor set file.
+     *
+     * <p>If the file does not exist, returns an empty file set.
+     */
+    static FileSet parse(File descriptorSetFile) {
+        checkNotNull(descriptorSetFile);
+        if (!descriptorSetFile.exists()) {
+            return FileSet.of(ImmutableSet.of());
+        }
+        var key = descriptorSetFile.getAbsolutePath()
+                + '@' + descriptorSetFile.lastModified()
+                + ':' + descriptorSetFile.length();
+        try {
+            return parsed.get(key, () -> FileSet.parse(descriptorSetFile));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
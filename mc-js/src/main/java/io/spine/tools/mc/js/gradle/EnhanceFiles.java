@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.code.proto.FileSet;
+import io.spine.logging.WithLogging;
+import io.spine.tools.code.SourceSetName;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.Generated;
+import io.spine.tools.js.fs.DefaultJsPaths;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.index.CreateParsers;
+import io.spine.tools.mc.js.code.step.AppendTypeUrlGetter;
+import io.spine.tools.mc.js.code.step.EnhanceCompiledFiles;
+import io.spine.tools.mc.js.code.step.ResolveImports;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.FileWrites;
+import io.spine.tools.mc.js.fs.ImportCache;
+import io.spine.tools.mc.js.fs.ImportResolution;
+import io.spine.tools.mc.js.protoc.McJsProtocPlugin;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.lang.String.format;
+
+/**
+ * A unit of work of the {@link GenerateJsonParsers} task which enhances the copies of a batch
+ * of compiled JavaScript files.
+ *
+ * <p>The batch is passed as the names of the Protobuf files, which the work item looks up
+ * in the descriptor set file of the source set. Each work item takes its own snapshot of
+ * the output directory with the copies and resolves the imports with its own cache,
+ * so the work items share no state with the task or with each other.
+ *
+ * <p>The work items run concurrently, so each of them processes its batch in a single thread.
+ * The index file, which depends on all the files of a source set, is generated by the task
+ * after all the batches are done.
+ */
+public abstract class EnhanceFiles
+        implements WorkAction<EnhanceFiles.Parameters>, WithLogging {
+
+    @Override
+    public void execute() {
+        var params = getParameters();
+        var projectDir = params.getProjectDir()
+                               .getAsFile()
+                               .get();
+        var outputDir = params.getOutputDir()
+                              .getAsFile()
+                              .get();
+        var compiled = DefaultJsPaths.at(projectDir)
+                                     .generated();
+        var output = DefaultJsPaths.at(outputDir)
+                                   .generated();
+        var ssn = new SourceSetName(params.getSourceSet().get());
+        var fileNames = ImmutableSet.copyOf(params.getFiles().get());
+        var descriptorSetFile = params.getDescriptorSetFile()
+                                      .getAsFile()
+                                      .get();
+        var files = DescriptorSets.parse(descriptorSetFile)
+                                  .filter(file -> fileNames.contains(file.getName()));
+        var modules = McJsOptions.combinedModules(params.getModules().get());
+        var options = params.getOptions().get();
+        var mode = params.getMode().get();
+        var snapshot = snapshotOf(output, compiled, ssn);
+        var writes = enhance(output, ssn, modules, options, snapshot, new ImportCache(),
+                             newDirectExecutorService(), mode, files);
+        logger().atDebug()
+                .log(() -> format("Enhanced %d files in the source set `%s`: %s.",
+                                  files.size(), ssn, writes));
+    }
+
+    /**
+     * Takes the snapshot of the copies of the files compiled for the given source set.
+     *
+     * <p>The snapshot checks the paths leading out of the copies of the compiled code
+     * against the compiled code itself, so the imports of the copies are resolved the same
+     * way as the imports of the compiled files would be.
+     *
+     * @param output
+     *         the root directory of the copies
+     * @param compiled
+     *         the root directory of the compiled code
+     * @param ssn
+     *         the name of the source set
+     */
+    static DirectorySnapshot snapshotOf(Generated output, Generated compiled, SourceSetName ssn) {
+        return DirectorySnapshot.of(output.dir(ssn).path())
+                                .asCopyOf(output.path(), compiled.path());
+    }
+
+    /**
+     * Generates the code for the given files.
+     *
+     * <p>The generated code is the same no matter if the files are processed in a single
+     * batch or split into several batches.
+     *
+     * @param generated
+     *         the root directory of the JavaScript code to enhance
+     * @param ssn
+     *         the name of the source set to which the files belong
+     * @param modules
+     *         the modules to resolve imports among
+     * @param options
+     *         the options of the generated code
+     * @param snapshot
+     *         the snapshot of the directory with the generated code of the source set
+     * @param imports
+     *         the cache of the resolved imports
+     * @param executor
+     *         the executor which processes the files of each step
+     * @param mode
+     *         the way to process the files
+     * @param files
+     *         the files to generate the code for
+     * @return the counts of the written and skipped files
+     */
+    static FileWrites enhance(Generated generated,
+                              SourceSetName ssn,
+                              ExternalModules modules,
+                              GenerationOptions options,
+                              DirectorySnapshot snapshot,
+                              ImportCache imports,
+                              ExecutorService executor,
+                              GenerationMode mode,
+                              FileSet files) {
+        if (mode == GenerationMode.PROTOC_PLUGIN) {
+            var resolveImports = ResolveImports.newBuilder(generated, ssn, modules)
+                    .withOptions(options)
+                    .withSnapshot(snapshot)
+                    .withImports(imports)
+                    .withExecutor(executor);
+            var compiledFiles = resolveImports.build();
+            compiledFiles.performFor(files);
+            var writes = new FileWrites().add(compiledFiles.writes());
+            if (!McJsProtocPlugin.importsParsersFrom(modules)) {
+                var companionFiles = resolveImports.withCompanionFiles(true)
+                                                   .build();
+                companionFiles.performFor(files);
+                writes.add(companionFiles.writes());
+            }
+            return writes;
+        }
+        if (mode == GenerationMode.SINGLE_PASS) {
+            var step =
+                    new EnhanceCompiledFiles(generated, ssn, modules, options, snapshot, imports);
+            step.setExecutor(executor);
+            step.performFor(files);
+            return step.writes();
+        }
+        var jsCodeRoot = generated.dir(ssn);
+        var importResolution = ImportResolution.among(generated, modules, imports);
+        var parsers = new CreateParsers(jsCodeRoot, options, snapshot);
+        parsers.setExecutor(executor);
+        parsers.performFor(files);
+        var typeUrlGetters =
+                new AppendTypeUrlGetter(jsCodeRoot, options, snapshot, importResolution);
+        typeUrlGetters.setExecutor(executor);
+        typeUrlGetters.performFor(files);
+        return new FileWrites().add(parsers.writes())
+                               .add(typeUrlGetters.writes());
+    }
+
+    /**
+     * Parameters of the work.
+     */
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * The root directory of the project.
+         */
+        DirectoryProperty getProjectDir();
+
+        /**
+         * The output directory of the task.
+         */
+        DirectoryProperty getOutputDir();
+
+        /**
+         * The name of the source set to which the files belong.
+         */
+        Property<String> getSourceSet();
+
+        /**
+         * The descriptor set file of the source set.
+         */
+        RegularFileProperty getDescriptorSetFile();
+
+        /**
+         * Names of the Protobuf files to process.
+         */
+        ListProperty<String> getFiles();
+
+        /**
+         * Names of JavaScript modules and directories they provide.
+         */
+        MapProperty<String, List<String>> getModules();
+
+        /**
+         * The way to process the files.
+         */
+        Property<GenerationMode> getMode();
+
+        /**
+         * The options of the generated code.
+         */
+        Property<GenerationOptions> getOptions();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import io.spine.code.fs.SourceCodeDirectory;
+import io.spine.code.proto.FileSet;
+import io.spine.tools.code.SourceSetName;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Fingerprints of the Protobuf files processed by the {@link GenerateJsonParsers} task
+ * during its previous execution.
+ *
+ * <p>For each processed file, the fingerprint holds the hash of the file descriptor,
+ * the state of the JavaScript file compiled by Protobuf Compiler, and the state of its copy
+ * as it was left by the task in its output directory. A file has to be processed again
+ * if any of them does not match the current state. This happens, for example, when
+ * the JavaScript file was re-generated by Protobuf Compiler, or when its copy was
+ * changed or deleted.
+ *
+ * <p>The state of a JavaScript file consists of its size, its modification time, and the hash
+ * of its content. The file is read and hashed only if its size or modification time differs
+ * from the recorded ones. As in Git, the modification time is not trusted if it is not older
+ * than the moment the fingerprints were stored, since the file could be changed again within
+ * the precision of the file system clock. Such files are always hashed.
+ *
+ * <p>In the {@linkplain GenerationMode#PROTOC_PLUGIN protoc plugin mode}, the fingerprint also
+ * holds the states of the {@linkplain CompanionFiles companion file} and its copy, since
+ * {@code protoc} re-generates the companion file even if the compiled file stays the same.
+ *
+ * <p>The fingerprints are valid only for the settings of the code generation they were
+ * recorded with. If the settings change, all the files have to be processed again.
+ *
+ * <p>The fingerprints are stored in a plain text file, one entry per line,
+ * sorted by the source set and the name of the Protobuf file.
+ */
+final class FileFingerprints {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+    private static final String SEPARATOR = " ";
+    private static final String PART_SEPARATOR = ":";
+    private static final char HASH_SEPARATOR = '#';
+    private static final char TIME_SEPARATOR = '@';
+
+    /**
+     * The key of the entry holding the hash of the code generation settings.
+     *
+     * <p>The key cannot clash with the keys of the files, which start with
+     * the name of a source set.
+     */
+    private static final String SETTINGS_KEY = "#settings";
+
+    private final Path file;
+    private final Map<String, String> entries;
+    private final boolean companionFiles;
+
+    /**
+     * The modification time of the loaded file in nanoseconds.
+     *
+     * <p>If the fingerprints were not loaded from a file, the value is less than any
+     * modification time, so that no modification time is trusted.
+     */
+    private final long storedAt;
+
+    private FileFingerprints(Path file,
+                             Map<String, String> entries,
+                             boolean companionFiles,
+                             long storedAt) {
+        this.file = file;
+        this.entries = entries;
+        this.companionFiles = companionFiles;
+        this.storedAt = storedAt;
+    }
+
+    /**
+     * Loads the fingerprints from the given file.
+     *
+     * <p>If the file does not exist, the returned instance is empty.
+     *
+     * @param file
+     *         the file with the fingerprints
+     * @param mode
+     *         the way the task processes the compiled files
+     */
+    static FileFingerprints loadFrom(Path file, GenerationMode mode) {
+        checkNotNull(file);
+        checkNotNull(mode);
+        Map<String, String> entries = new TreeMap<>();
+        var storedAt = Long.MIN_VALUE;
+        if (Files.exists(file)) {
+            storedAt = modificationTime(file);
+            for (var line : readLines(file)) {
+                var separatorIndex = line.indexOf(SEPARATOR);
+                if (separatorIndex > 0) {
+                    entries.put(line.substring(0, separatorIndex),
+                                line.substring(separatorIndex + 1));
+                }
+            }
+        }
+        var companionFiles = mode == GenerationMode.PROTOC_PLUGIN;
+        return new FileFingerprints(file, entries, companionFiles, storedAt);
+    }
+
+    /**
+     * Forgets all the fingerprints if they were recorded with other code generation settings.
+     *
+     * <p>The given settings are remembered for the subsequent checks.
+     *
+     * @param settings
+     *         the description of everything besides the processed files that affects
+     *         the generated code
+     */
+    void checkSettings(String settings) {
+        checkNotNull(settings);
+        var hash = HASH.hashString(settings, UTF_8)
+                       .toString();
+        if (!hash.equals(entries.get(SETTINGS_KEY))) {
+            entries.clear();
+            entries.put(SETTINGS_KEY, hash);
+        }
+    }
+
+    /**
+     * Selects the files which were changed since they were processed last time.
+     *
+     * @param ssn
+     *         the name of the source set to which the files belong
+     * @param fileSet
+     *         the files of the source set
+     * @param compiledRoot
+     *         the directory with the JavaScript code compiled for the source set
+     * @param outputRoot
+     *         the directory with the JavaScript code generated by the task for the source set
+     * @return the files which have to be processed again
+     */
+    FileSet changedIn(SourceSetName ssn,
+                      FileSet fileSet,
+                      SourceCodeDirectory compiledRoot,
+                      SourceCodeDirectory outputRoot) {
+        var changed = fileSet.filter(
+                file -> !matches(file, jsFilesOf(file, compiledRoot, outputRoot),
+                                 entries.get(key(ssn, file)))
+        );
+        return changed;
+    }
+
+    /**
+     * Remembers the current state of the processed files.
+     *
+     * <p>The entries of files which no longer belong to the source set are removed.
+     *
+     * @param ssn
+     *         the name of the source set to which the files belong
+     * @param allFiles
+     *         all the files of the source set
+     * @param processed
+     *         the files processed during the current task execution
+     * @param compiledRoot
+     *         the directory with the JavaScript code compiled for the source set
+     * @param outputRoot
+     *         the directory with the JavaScript code generated by the task for the source set
+     */
+    void record(SourceSetName ssn,
+                FileSet allFiles,
+                FileSet processed,
+                SourceCodeDirectory compiledRoot,
+                SourceCodeDirectory outputRoot) {
+        var prefix = ssn + "/";
+        var actualKeys = new HashSet<String>();
+        for (var file : allFiles.files()) {
+            actualKeys.add(key(ssn, file));
+        }
+        entries.keySet()
+               .removeIf(key -> key.startsWith(prefix) && !actualKeys.contains(key));
+        for (var file : processed.files()) {
+            entries.put(key(ssn, file),
+                        fingerprint(file, jsFilesOf(file, compiledRoot, outputRoot)));
+        }
+    }
+
+    /**
+     * Writes the fingerprints to the file they were loaded from.
+     */
+    void store() {
+        var lines = new StringBuilder();
+        entries.forEach((key, value) -> lines.append(key)
+                                             .append(SEPARATOR)
+                                             .append(value)
+                                             .append('\n'));
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines.toString()
+                                   .getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(SourceSetName ssn, FileDescriptor file) {
+        return ssn + "/" + file.getName();
+    }
+
+    private static String fingerprint(FileDescriptor file, List<Path> jsFiles) {
+        var fingerprint = new StringBuilder(descriptorHash(file));
+        for (var jsFile : jsFiles) {
+            fingerprint.append(PART_SEPARATOR)
+                       .append(stateOf(jsFile));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Tells if the given file and its JavaScript files are in the same state as recorded
+     * in the given fingerprint.
+     */
+    private boolean matches(FileDescriptor file,
+                            List<Path> jsFiles,
+                            @Nullable String fingerprint) {
+        if (fingerprint == null) {
+            return false;
+        }
+        var parts = fingerprint.split(PART_SEPARATOR, -1);
+        if (parts.length != jsFiles.size() + 1 || !descriptorHash(file).equals(parts[0])) {
+            return false;
+        }
+        for (var i = 0; i < jsFiles.size(); i++) {
+            if (!matches(jsFiles.get(i), parts[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells if the given JavaScript file is in the recorded state.
+     *
+     * <p>The file is hashed only if its size and modification time cannot prove
+     * the file is unchanged.
+     */
+    private boolean matches(Path jsFile, String recordedState) {
+        if (!Files.exists(jsFile)) {
+            return recordedState.isEmpty();
+        }
+        var hashIndex = recordedState.indexOf(HASH_SEPARATOR);
+        var timeIndex = recordedState.indexOf(TIME_SEPARATOR);
+        if (hashIndex < 0 || timeIndex < 0 || timeIndex > hashIndex) {
+            return false;
+        }
+        var recordedStat = recordedState.substring(0, hashIndex);
+        var recordedTime = Long.parseLong(recordedState.substring(timeIndex + 1, hashIndex));
+        if (recordedTime < storedAt && statOf(jsFile).equals(recordedStat)) {
+            return true;
+        }
+        var recordedHash = recordedState.substring(hashIndex + 1);
+        return hashOf(jsFile).equals(recordedHash);
+    }
+
+    /**
+     * Obtains the compiled JavaScript files of the given Protobuf file followed by their copies
+     * in the output directory.
+     */
+    private List<Path> jsFilesOf(FileDescriptor file,
+                                 SourceCodeDirectory compiledRoot,
+                                 SourceCodeDirectory outputRoot) {
+        var fileName = FileName.from(file);
+        var compiledFile = JsFiles.resolve(compiledRoot, fileName);
+        var outputFile = JsFiles.resolve(outputRoot, fileName);
+        return companionFiles
+               ? List.of(compiledFile, outputFile,
+                         CompanionFiles.pathOf(compiledFile), CompanionFiles.pathOf(outputFile))
+               : List.of(compiledFile, outputFile);
+    }
+
+    private static String descriptorHash(FileDescriptor file) {
+        return HASH.hashBytes(file.toProto()
+                                  .toByteArray())
+                   .toString();
+    }
+
+    /**
+     * Obtains the state of the given file or an empty string if the file does not exist.
+     */
+    private static String stateOf(Path file) {
+        return Files.exists(file)
+               ? statOf(file) + HASH_SEPARATOR + hashOf(file)
+               : "";
+    }
+
+    private static String statOf(Path file) {
+        try {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() + String.valueOf(TIME_SEPARATOR)
+                    + attributes.lastModifiedTime().to(NANOSECONDS);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long modificationTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file)
+                        .to(NANOSECONDS);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hashOf(Path file) {
+        return HASH.hashBytes(readBytes(file))
+                   .toString();
+    }
+
+    private static byte[] readBytes(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Iterable<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -26,80 +26,550 @@
 
 package io.spine.tools.mc.js.gradle;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.gradle.GenerateProtoTask;
+import io.spine.code.proto.FileSet;
+import io.spine.logging.WithLogging;
 import io.spine.tools.code.SourceSetName;
 import io.spine.tools.fs.ExternalModules;
-import io.spine.tools.gradle.ProtoFiles;
 import io.spine.tools.js.fs.DefaultJsPaths;
-import io.spine.tools.mc.js.code.index.CreateParsers;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.tools.mc.js.code.index.GenerateIndexFile;
-import io.spine.tools.mc.js.code.step.AppendTypeUrlGetter;
-import io.spine.tools.mc.js.code.step.CodeGenStep;
-import io.spine.tools.mc.js.code.step.ResolveImports;
-import org.gradle.api.Action;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.FileWrites;
+import io.spine.tools.mc.js.fs.ImportCache;
+import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.workers.WorkerExecutor;
 
-import static com.google.common.base.Preconditions.checkNotNull;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.spine.code.proto.FileDescriptors.KNOWN_TYPES;
 import static io.spine.tools.gradle.project.Projects.getSourceSetNames;
+import static io.spine.tools.mc.js.gradle.McJsTaskName.generateJsonParsers;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.gradle.api.tasks.PathSensitivity.RELATIVE;
 
 /**
  * Generates JSON parsers in the JavaScript code generated by Protobuf Compiler.
  *
- * @see #newAction(Project)
+ * <p>The task handles all source sets in the given project.
+ *
+ * <p>The paths to the compiled JS messages location, as well as to the descriptor set file,
+ * are currently hard-coded.
+ *
+ * <p>Please see {@link DefaultJsPaths} for the expected layout of directories.
+ *
+ * <p>The task does not change the files compiled by Protobuf Compiler. It copies them into
+ * its {@linkplain #getOutputDirectory() output directory} and enhances the copies there.
+ * The layout of the output directory is the same as the layout of the project, so the imports
+ * of the copies are resolved to the same relative paths as the imports of the compiled files.
+ *
+ * <p>The task is cacheable. The descriptor set files and the directories with the compiled
+ * code are its inputs, tracked by relative paths, and the output directory and the file with
+ * the fingerprints are its outputs. So, the task has no outputs overlapping with
+ * the {@code generateProto} tasks, and its outputs may be taken from the build cache of
+ * another project location. This holds for all the {@linkplain GenerationMode modes} of
+ * the generation. The files outside the generated code, which are only checked for
+ * existence when resolving imports, are not tracked.
+ *
+ * <p>The task is incremental. The code is generated only for the Protobuf files which changed
+ * since the previous execution, as told by the {@linkplain FileFingerprints fingerprints} of
+ * the processed files. The fingerprints are kept even if Gradle runs the task
+ * non-incrementally, which happens each time Protobuf Compiler re-generates the compiled code.
+ * All the files are processed again only if the settings of the code generation or
+ * the implementation of the task change. The index file is re-created for all the files of
+ * a source set anyway.
+ *
+ * <p>If the {@linkplain McJsOptions#parallelGeneration parallel generation} is enabled,
+ * the copies of the compiled files are processed by the {@linkplain EnhanceFiles Gradle
+ * workers}.
+ *
+ * <p>If the {@linkplain McJsOptions#useProtocPlugin(String) protoc plugin mode} is enabled,
+ * the code is generated by {@code protoc}. The task then only copies the files and resolves
+ * imports in the copies of the compiled files, which the {@code protoc} plugin cannot change.
+ * The companion files generated by the plugin are processed only if none of the modules
+ * provides the parsers they import. Otherwise, the plugin imports the parsers from
+ * the modules itself.
+ *
+ * @see #createIn(Project)
  */
-final class GenerateJsonParsers implements Action<Task> {
+@CacheableTask
+public abstract class GenerateJsonParsers extends DefaultTask implements WithLogging {
+
+    /**
+     * The path to the file with the fingerprints of processed files
+     * relative to the build directory of the project.
+     */
+    private static final String FINGERPRINTS_FILE = "mc-js/fingerprints.txt";
+
+    /**
+     * The path to the output directory relative to the build directory of the project.
+     */
+    private static final String OUTPUT_DIRECTORY = "generated/mc-js";
+
+    /**
+     * The hash of the code of the task computed once per class loader.
+     */
+    private static final Supplier<String> IMPLEMENTATION_HASH =
+            Suppliers.memoize(GenerateJsonParsers::hashImplementation);
+
+    /**
+     * The descriptor set files of all the source sets of the project.
+     */
+    @InputFiles
+    @PathSensitive(RELATIVE)
+    public abstract ConfigurableFileCollection getDescriptorSetFiles();
+
+    /**
+     * The root directory of the project.
+     *
+     * <p>The directory is used to resolve the paths to the compiled code. The paths
+     * themselves are tracked as the task inputs.
+     */
+    @Internal
+    public abstract DirectoryProperty getProjectDirectory();
+
+    /**
+     * Names of the source sets of the project.
+     *
+     * <p>The descriptor set files and the directories with the compiled code of
+     * the source sets are tracked as the task inputs.
+     */
+    @Internal
+    public abstract ListProperty<String> getSourceSets();
+
+    /**
+     * Names of JavaScript modules and directories they provide.
+     *
+     * @see McJsOptions#modules
+     */
+    @Input
+    public abstract MapProperty<String, List<String>> getModules();
+
+    /**
+     * Tells if the code should be generated in a single pass per compiled file.
+     *
+     * @see McJsOptions#singlePassGeneration
+     */
+    @Input
+    public abstract Property<Boolean> getSinglePassGeneration();
+
+    /**
+     * Tells if the code is generated by the {@code protoc} plugin.
+     *
+     * @see McJsOptions#useProtocPlugin(String)
+     */
+    @Input
+    public abstract Property<Boolean> getProtocPlugin();
+
+    /**
+     * The options of the generated code.
+     *
+     * @see McJsOptions#lineSeparator
+     * @see McJsOptions#compactOutput
+     * @see McJsOptions#bytesDecoder
+     * @see McJsOptions#keyDispatchThreshold
+     * @see McJsOptions#unknownEnumValue
+     * @see McJsOptions#rawFieldWrites
+     */
+    @Input
+    public abstract Property<GenerationOptions> getGenerationOptions();
+
+    /**
+     * Tells if the compiled files should be processed in parallel.
+     *
+     * <p>The option does not affect the generated code, so it is not an input of the task.
+     *
+     * @see McJsOptions#parallelGeneration
+     */
+    @Internal
+    public abstract Property<Boolean> getParallelGeneration();
+
+    /**
+     * The maximum number of files processed concurrently by each code generation step.
+     *
+     * <p>The option does not affect the generated code, so it is not an input of the task.
+     *
+     * @see McJsOptions#generationConcurrency
+     */
+    @Internal
+    public abstract Property<Integer> getGenerationConcurrency();
+
+    /**
+     * The directories with the JavaScript code compiled by Protobuf Compiler for all
+     * the source sets of the project.
+     */
+    @InputFiles
+    @PathSensitive(RELATIVE)
+    public abstract ConfigurableFileCollection getCompiledDirs();
+
+    /**
+     * The directory with the enhanced copies of the compiled JavaScript code.
+     *
+     * <p>The code of each source set is put under the same path relative to the directory as
+     * the compiled code relative to the project. By default, the directory is
+     * {@code build/generated/mc-js}.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * The file with the {@linkplain FileFingerprints fingerprints} of the processed files.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getFingerprintsFile();
+
+    /**
+     * The executor of the work items processing the compiled files in parallel.
+     */
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * Registers the task in the given project.
+     *
+     * <p>The task is created and configured only if it is needed by the build.
+     * It depends on the {@code generateProto} tasks, which compile the code it copies.
+     *
+     * <p>The task handles all source sets of the project. The descriptor set files and
+     * the directories with the compiled code are resolved lazily, so that source sets added
+     * after the task creation are also handled.
+     *
+     * <p>All the values the task needs are set as its properties, so the task does not
+     * access the project during the execution. This makes the task compatible with
+     * the Gradle configuration cache.
+     */
+    static TaskProvider<GenerateJsonParsers> createIn(Project project) {
+        var projectDir = project.getProjectDir();
+        var sourceSetNames = project.provider(() -> sourceSetNames(project));
+        var buildDirectory = project.getLayout()
+                                    .getBuildDirectory();
+        var fingerprintsFile = buildDirectory.file(FINGERPRINTS_FILE);
+        var outputDirectory = buildDirectory.dir(OUTPUT_DIRECTORY);
+        var generateProtoTasks = project.getTasks()
+                                        .withType(GenerateProtoTask.class);
+        var result = project.getTasks().register(
+                generateJsonParsers.name(), GenerateJsonParsers.class, task -> {
+                    task.getProjectDirectory()
+                        .set(projectDir);
+                    task.getSourceSets()
+                        .set(sourceSetNames);
+                    task.getDescriptorSetFiles()
+                        .from(sourceSetNames.map(names -> descriptorSetFiles(projectDir, names)));
+                    task.dependsOn(generateProtoTasks);
+                    task.getCompiledDirs()
+                        .from(sourceSetNames.map(names -> compiledDirs(projectDir, names)));
+                    task.getModules()
+                        .set(project.provider(() -> McJsOptions.in(project).modules));
+                    task.getSinglePassGeneration()
+                        .set(project.provider(
+                                () -> McJsOptions.in(project).singlePassGeneration));
+                    task.getProtocPlugin()
+                        .set(project.provider(() -> McJsOptions.in(project).protocPlugin()));
+                    task.getGenerationOptions()
+                        .set(project.provider(
+                                () -> McJsOptions.in(project).generationOptions()));
+                    task.getParallelGeneration()
+                        .set(project.provider(
+                                () -> McJsOptions.in(project).parallelGeneration));
+                    task.getGenerationConcurrency()
+                        .set(project.provider(
+                                () -> McJsOptions.in(project).generationConcurrency));
+                    task.getFingerprintsFile()
+                        .convention(fingerprintsFile);
+                    task.getOutputDirectory()
+                        .convention(outputDirectory);
+                });
+        return result;
+    }
+
+    private static List<String> sourceSetNames(Project project) {
+        var result = ImmutableList.copyOf(getSourceSetNames(project))
+                .stream()
+                .map(SourceSetName::toString)
+                .collect(toList());
+        return result;
+    }
 
-    private final Project project;
-    private final ExternalModules modules;
+    private static List<File> descriptorSetFiles(File projectDir, List<String> sourceSetNames) {
+        var result = sourceSetNames.stream()
+                .map(SourceSetName::new)
+                .map(ssn -> descriptorSetFile(projectDir, ssn))
+                .collect(toList());
+        return result;
+    }
+
+    private static List<File> compiledDirs(File projectDir, List<String> sourceSetNames) {
+        var generated = DefaultJsPaths.at(projectDir)
+                                      .generated();
+        var result = sourceSetNames.stream()
+                .map(SourceSetName::new)
+                .map(ssn -> generated.dir(ssn).path().toFile())
+                .collect(toList());
+        return result;
+    }
 
-    private GenerateJsonParsers(Project project) {
-        this.project = checkNotNull(project);
-        this.modules = McJsOptions.in(project).combinedModules();
+    private static File descriptorSetFile(File projectDir, SourceSetName ssn) {
+        var descriptorsDir = DefaultJsPaths.at(projectDir)
+                                           .buildRoot()
+                                           .descriptors()
+                                           .forSourceSet(ssn.toString());
+        return descriptorsDir.resolve(KNOWN_TYPES)
+                             .toFile();
     }
 
     /**
-     * Creates an {@code Action} to perform the additional generation of code
-     * for working with Protobuf types.
+     * Performs the additional generation of code for working with Protobuf types.
      *
-     * <p>The action handles all source sets in the given project.
+     * <p>First, the compiled files of all source sets are copied into the output directory.
+     * Then, the copies are enhanced, either serially or in parallel. Finally, the index files
+     * are generated.
+     */
+    @TaskAction
+    public void generate() {
+        generateCode();
+    }
+
+    /**
+     * Generates the code for the files changed since the previous execution of the task.
      *
-     * <p>The paths to the generated JS messages location, as well as to the descriptor set file,
-     * are currently hard-coded.
+     * <p>If the {@linkplain #getParallelGeneration() parallel generation} is enabled,
+     * the files processed by the workers are not counted.
      *
-     * <p>Please see {@link DefaultJsPaths} for the expected layout of directories.
+     * @return the counts of the written and skipped files
      */
-    static Action<Task> newAction(Project project) {
-        return new GenerateJsonParsers(project);
+    @VisibleForTesting
+    @CanIgnoreReturnValue
+    FileWrites generateCode() {
+        var fingerprintsFile = getFingerprintsFile().getAsFile()
+                                                    .get()
+                                                    .toPath();
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, mode());
+        fingerprints.checkSettings(settings());
+        var projectDir = projectDir();
+        var compiled = DefaultJsPaths.at(projectDir)
+                                     .generated();
+        var output = DefaultJsPaths.at(outputDir())
+                                   .generated();
+        var options = getGenerationOptions().get();
+        var writes = new FileWrites();
+        var imports = new ImportCache();
+        var allFiles = new LinkedHashMap<SourceSetName, FileSet>();
+        var changedFiles = new LinkedHashMap<SourceSetName, FileSet>();
+        for (var name : getSourceSets().get()) {
+            var ssn = new SourceSetName(name);
+            var files = DescriptorSets.parse(descriptorSetFile(projectDir, ssn));
+            var changed = fingerprints.changedIn(ssn, files, compiled.dir(ssn), output.dir(ssn));
+            logger().atDebug()
+                    .log(() -> format(
+                            "Generating code for %d of %d files in the source set `%s`.",
+                            changed.size(), files.size(), ssn));
+            CompiledFiles.copying(compiled.dir(ssn), output.dir(ssn))
+                         .copy(files, changed);
+            allFiles.put(ssn, files);
+            changedFiles.put(ssn, changed);
+        }
+        var snapshots = new HashMap<SourceSetName, DirectorySnapshot>();
+        allFiles.keySet()
+                .forEach(ssn -> snapshots.put(ssn, EnhanceFiles.snapshotOf(output, compiled, ssn)));
+        if (getParallelGeneration().get()) {
+            changedFiles.forEach(this::submitBatches);
+            getWorkerExecutor().await();
+        } else {
+            var modules = McJsOptions.combinedModules(getModules().get());
+            var mode = mode();
+            var executor = newExecutor(getGenerationConcurrency().get());
+            try {
+                changedFiles.forEach(
+                        (ssn, files) -> writes.add(EnhanceFiles.enhance(
+                                output, ssn, modules, options, snapshots.get(ssn), imports,
+                                executor, mode, files))
+                );
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        allFiles.forEach((ssn, files) -> {
+            var jsCodeRoot = output.dir(ssn);
+            if (mode() != GenerationMode.PROTOC_PLUGIN) {
+                var indexFile = new GenerateIndexFile(jsCodeRoot, options, snapshots.get(ssn));
+                indexFile.performFor(files);
+                writes.add(indexFile.writes());
+            }
+            fingerprints.record(ssn, files, changedFiles.get(ssn), compiled.dir(ssn), jsCodeRoot);
+        });
+        fingerprints.store();
+        logger().atDebug()
+                .log(() -> format("Code generation completed: %s, %s.", writes, imports));
+        return writes;
     }
 
-    @Override
-    public void execute(Task task) {
-        var sourceSetNames = getSourceSetNames(project);
-        for (var ssn : sourceSetNames) {
-            generateFor(ssn);
+    /**
+     * Splits the given files into batches and submits each batch to the worker executor.
+     *
+     * <p>The number of batches does not exceed the number of available processors.
+     * The batches are passed to the workers as the names of the files.
+     */
+    private void submitBatches(SourceSetName ssn, FileSet files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        var projectDir = projectDir();
+        var descriptorSetFile = descriptorSetFile(projectDir, ssn);
+        var sorted = files.files()
+                          .stream()
+                          .map(FileDescriptor::getName)
+                          .sorted()
+                          .collect(toList());
+        var processors = Runtime.getRuntime()
+                                .availableProcessors();
+        var batchSize = Math.max(1, (sorted.size() + processors - 1) / processors);
+        var queue = getWorkerExecutor().noIsolation();
+        for (var batch : Lists.partition(sorted, batchSize)) {
+            queue.submit(EnhanceFiles.class, params -> {
+                params.getProjectDir()
+                      .set(projectDir);
+                params.getOutputDir()
+                      .set(getOutputDirectory());
+                params.getSourceSet()
+                      .set(ssn.toString());
+                params.getDescriptorSetFile()
+                      .set(descriptorSetFile);
+                params.getFiles()
+                      .set(batch);
+                params.getModules()
+                      .set(getModules());
+                params.getMode()
+                      .set(mode());
+                params.getOptions()
+                      .set(getGenerationOptions());
+            });
         }
     }
 
-    private void generateFor(SourceSetName ssn) {
-        var files = ProtoFiles.collect(project, ssn);
-        var steps = createSteps(ssn);
-        var suppliedFiles = files.get();
-        for (var step : steps) {
-            step.performFor(suppliedFiles);
+    /**
+     * Creates the executor which processes the files of the code generation steps
+     * using no more than the given number of threads.
+     *
+     * <p>The executor is created once per run of the code generation and is shared by all
+     * of its steps. The caller must shut the executor down once the steps are done.
+     *
+     * @throws IllegalArgumentException
+     *         if the concurrency is not positive
+     */
+    static ExecutorService newExecutor(int concurrency) {
+        checkArgument(concurrency > 0,
+                      "The concurrency must be positive. Passed: `%s`.", concurrency);
+        if (concurrency == 1) {
+            return newDirectExecutorService();
         }
+        var threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("mc-js-generate-%d")
+                .setDaemon(true)
+                .build();
+        return Executors.newFixedThreadPool(concurrency, threadFactory);
     }
 
-    private ImmutableList<CodeGenStep> createSteps(SourceSetName ssn) {
-        var jsPaths = DefaultJsPaths.at(project.getProjectDir());
-        var generated = jsPaths.generated();
-        var jsCodeRoot = generated.dir(ssn);
-        var steps = ImmutableList.of(
-                new CreateParsers(jsCodeRoot),
-                new AppendTypeUrlGetter(jsCodeRoot),
-                new GenerateIndexFile(jsCodeRoot),
-                new ResolveImports(generated, ssn, modules)
+    private GenerationMode mode() {
+        return GenerationMode.of(getProtocPlugin().get(), getSinglePassGeneration().get());
+    }
+
+    /**
+     * Describes everything besides the processed files that affects the generated code.
+     *
+     * <p>The description includes the hash of the code of the task, so that all the files are
+     * processed again once the plugin is updated.
+     */
+    private String settings() {
+        var modules = new TreeMap<>(getModules().get());
+        var settings = List.of(
+                mode(), modules, getGenerationOptions().get(), implementation()
         );
-        return steps;
+        return settings.toString();
+    }
+
+    private static String implementation() {
+        return IMPLEMENTATION_HASH.get();
+    }
+
+    /**
+     * Hashes the content of the JAR file or the directory with the code of the task.
+     *
+     * <p>The hash does not depend on the location or the modification time of the code,
+     * so it stays the same if the same version of the plugin is downloaded again.
+     */
+    private static String hashImplementation() {
+        var codeSource = GenerateJsonParsers.class.getProtectionDomain()
+                                                  .getCodeSource();
+        if (codeSource == null) {
+            return "";
+        }
+        try {
+            var location = Path.of(codeSource.getLocation().toURI());
+            var hasher = Hashing.murmur3_128()
+                                .newHasher();
+            try (var files = Files.walk(location)) {
+                var sorted = files.filter(Files::isRegularFile)
+                                  .sorted()
+                                  .collect(toList());
+                for (var file : sorted) {
+                    hasher.putString(location.relativize(file).toString(), UTF_8)
+                          .putBytes(Files.readAllBytes(file));
+                }
+            }
+            return hasher.hash()
+                         .toString();
+        } catch (URISyntaxException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private File projectDir() {
+        return getProjectDirectory().getAsFile()
+                                    .get();
+    }
+
+    private File outputDir() {
+        return getOutputDirectory().getAsFile()
+                                   .get();
     }
 }
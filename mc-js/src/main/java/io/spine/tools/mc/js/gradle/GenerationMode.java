@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+/**
+ * The way the {@link GenerateJsonParsers} task processes the compiled files.
+ */
+public enum GenerationMode {
+
+    /**
+     * Each code generation step reads and writes the compiled files on its own.
+     *
+     * <p>The imports are resolved by the steps while they write the files.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Each compiled file is read and written once.
+     *
+     * @see McJsOptions#singlePassGeneration
+     */
+    SINGLE_PASS,
+
+    /**
+     * The code is generated by {@code protoc}, and the task only resolves imports.
+     *
+     * @see McJsOptions#useProtocPlugin(String)
+     */
+    PROTOC_PLUGIN;
+
+    /**
+     * Obtains the mode for the given options.
+     *
+     * <p>The {@code protoc} plugin mode takes precedence over the single-pass mode.
+     */
+    static GenerationMode of(boolean protocPlugin, boolean singlePass) {
+        if (protocPlugin) {
+            return PROTOC_PLUGIN;
+        }
+        return singlePass ? SINGLE_PASS : SEQUENTIAL;
+    }
+}
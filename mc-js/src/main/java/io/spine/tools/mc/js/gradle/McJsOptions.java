@@ -28,13 +28,18 @@ package io.spine.tools.mc.js.gradle;
 
 import io.spine.tools.fs.ExternalModule;
 import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.mc.js.code.BytesDecoder;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.UnknownEnumValue;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.tasks.TaskProvider;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static io.spine.tools.fs.ExternalModule.predefinedModules;
 
@@ -83,7 +88,132 @@ public class McJsOptions {
     )
     public Map<String, List<String>> modules = new HashMap<>();
 
-    private Task generateParsersTask;
+    /**
+     * Tells if the code should be generated in a single pass per compiled file.
+     *
+     * <p>If enabled, each JavaScript file compiled by Protobuf Compiler is read once,
+     * enhanced with parsers and type URL getters, gets its imports resolved in memory,
+     * and is written once. Otherwise, the parsers and the type URL getters are written by
+     * separate steps, and the imports are resolved by the latter of them.
+     *
+     * <p>The generated code is the same in both modes. The default value is {@code false}.
+     */
+    public boolean singlePassGeneration = false;
+
+    /**
+     * Tells if the compiled JavaScript files should be processed in parallel.
+     *
+     * <p>If enabled, the files of each source set are split into batches, which are processed
+     * by the Gradle workers concurrently. The index file of a source set is generated after
+     * all of its batches are processed.
+     *
+     * <p>The generated code is the same in both modes. The default value is {@code false}.
+     */
+    public boolean parallelGeneration = false;
+
+    /**
+     * The maximum number of files processed concurrently by each code generation step.
+     *
+     * <p>The steps generate the code, write the files, and resolve the imports in them.
+     * This mostly waits for the file system, so a number greater than the number of processors
+     * may speed up the generation on the file systems which serve many requests in parallel,
+     * such as SSDs or network file systems.
+     *
+     * <p>The option applies to all the {@linkplain GenerationMode modes} of the generation.
+     * It is ignored if the {@linkplain #parallelGeneration parallel generation} is enabled.
+     * The Gradle workers already process the files concurrently, so each of them processes
+     * its batch in a single thread.
+     *
+     * <p>The generated code is the same for any value. The default value is {@code 1},
+     * which means the files are processed one by one.
+     */
+    public int generationConcurrency = 1;
+
+    /**
+     * The string which separates the lines of the generated files.
+     *
+     * <p>Either {@code "\n"} or {@code "\r\n"}. The separator does not depend on the platform
+     * running the build, so the generated files are the same on all platforms.
+     *
+     * <p>The default value is {@code "\n"}.
+     */
+    public String lineSeparator = GenerationOptions.DEFAULT_LINE_SEPARATOR;
+
+    /**
+     * Tells if the generated code should be compact.
+     *
+     * <p>The compact code is not indented, has no empty lines, and has the comment marking
+     * the generated code only once per generated piece of code. This reduces the size of
+     * the generated files and the time browsers spend on parsing them.
+     *
+     * <p>The code generated by {@code protoc} itself is not affected.
+     * The default value is {@code false}.
+     */
+    public boolean compactOutput = false;
+
+    /**
+     * The way the generated parsers decode the {@code bytes} values.
+     *
+     * <p>The code the decoder relies on is declared once per generated file.
+     * {@link BytesDecoder#NODE_BUFFER} and {@link BytesDecoder#BROWSER} do not need
+     * the {@code base64-js} library, so the projects running only in Node.js or only in
+     * browsers may drop the dependency on it.
+     *
+     * <p>The default value is {@link BytesDecoder#BASE64_JS}.
+     */
+    public BytesDecoder bytesDecoder = BytesDecoder.BASE64_JS;
+
+    /**
+     * The number of fields above which the parser of a message iterates the keys present
+     * in a parsed object instead of checking each field of the message.
+     *
+     * <p>This speeds up parsing of the messages with many fields, of which only a few
+     * are usually set. {@link Integer#MAX_VALUE} makes the parsers always check each field.
+     *
+     * <p>The default value is {@value GenerationOptions#DEFAULT_KEY_DISPATCH_THRESHOLD}.
+     */
+    public int keyDispatchThreshold = GenerationOptions.DEFAULT_KEY_DISPATCH_THRESHOLD;
+
+    /**
+     * The way the generated parsers handle the {@code enum} values which match neither
+     * a name nor a number of any value of the enum.
+     *
+     * <p>The default value is {@link UnknownEnumValue#UNDEFINED}.
+     */
+    public UnknownEnumValue unknownEnumValue = UnknownEnumValue.UNDEFINED;
+
+    /**
+     * Tells if the generated parsers write the values of the scalar fields directly into
+     * the storage array of a message instead of calling the setters.
+     *
+     * <p>This speeds up parsing of the messages with many scalar fields, but relies on
+     * the internals of the {@code google-protobuf} runtime. Please see
+     * {@link GenerationOptions#rawFieldWrites()} for the assumptions made.
+     *
+     * <p>The default value is {@code false}.
+     */
+    public boolean rawFieldWrites = false;
+
+    /**
+     * Tells if the code is generated by the Model Compiler for JS
+     * running as a {@code protoc} plugin.
+     *
+     * <p>In this mode, the parsers, the type URL getters, and the index file are generated
+     * by {@code protoc} along with the JavaScript code of the messages. The parsers and
+     * the getters are put into the {@linkplain io.spine.tools.mc.js.fs.CompanionFiles companion
+     * files} of the compiled files. The {@code generateJsonParsers} task only copies the files
+     * into its output directory and resolves imports in the copies of the compiled files,
+     * and of the companion files if the plugin cannot import the parsers from
+     * the {@linkplain #modules modules}.
+     *
+     * <p>The mode is enabled by {@link #useProtocPlugin(String)} or
+     * {@link #useProtocPluginAt(String)}, which also tell where to find the plugin executable.
+     * The default value is {@code false}.
+     */
+    private boolean protocPlugin = false;
+
+    private TaskProvider<? extends Task> generateParsersTask;
+    private ProtocConfig protocConfig;
 
     /**
      * Creates the extension in the given project.
@@ -100,26 +230,97 @@ public class McJsOptions {
                        .getByName(NAME);
     }
 
+    /**
+     * Obtains the options of the generated code set in this extension.
+     */
+    GenerationOptions generationOptions() {
+        return GenerationOptions.newBuilder()
+                .withLineSeparator(lineSeparator)
+                .withCompact(compactOutput)
+                .withBytesDecoder(bytesDecoder)
+                .withKeyDispatchThreshold(keyDispatchThreshold)
+                .withUnknownEnumValue(unknownEnumValue)
+                .withRawFieldWrites(rawFieldWrites)
+                .build();
+    }
+
+    /**
+     * Tells if the {@linkplain #protocPlugin protoc plugin mode} is enabled.
+     */
+    boolean protocPlugin() {
+        return protocPlugin;
+    }
+
     ExternalModules combinedModules() {
+        return combinedModules(modules);
+    }
+
+    /**
+     * Combines the given modules with the {@linkplain ExternalModule#predefinedModules()
+     * predefined Spine} modules.
+     */
+    static ExternalModules combinedModules(Map<String, List<String>> modules) {
         var combined = new ExternalModules(modules)
                 .with(predefinedModules());
         return combined;
     }
 
+    /**
+     * Enables the {@code protoc} plugin mode using the plugin
+     * executable from the given artifact.
+     *
+     * @param artifact
+     *         the Maven coordinates of the plugin executable,
+     *         e.g. {@code "io.spine.tools:spine-mc-js:2.0.0:exe@jar"}
+     */
+    @SuppressWarnings("unused") // Used in project applying the plugin.
+    public void useProtocPlugin(String artifact) {
+        checkNotNull(artifact);
+        protocPlugin = true;
+        protocConfig().usePlugin(locator -> locator.setArtifact(artifact));
+    }
+
+    /**
+     * Enables the {@code protoc} plugin mode using the plugin
+     * executable at the given path.
+     *
+     * @param path
+     *         the path to the plugin executable
+     */
+    @SuppressWarnings("unused") // Used in project applying the plugin.
+    public void useProtocPluginAt(String path) {
+        checkNotNull(path);
+        protocPlugin = true;
+        protocConfig().usePlugin(locator -> locator.setPath(path));
+    }
+
+    private ProtocConfig protocConfig() {
+        checkState(protocConfig != null,
+                   "The `protoc` configuration was not set by the ProtoJS plugin.");
+        return protocConfig;
+    }
+
+    void setProtocConfig(ProtocConfig protocConfig) {
+        this.protocConfig = protocConfig;
+    }
+
     /**
      * Returns the {@code generateJsonParsers} task configured by the {@link McJsPlugin}.
+     *
+     * <p>The task is registered lazily, so calling this method creates the task
+     * if it was not created yet.
      */
     @SuppressWarnings("unused") // Used in project applying the plugin.
     public Task generateParsersTask() {
         checkState(generateParsersTask != null,
                    "The 'generateJsonParsers' task was not configured by the ProtoJS plugin");
-        return generateParsersTask;
+        return generateParsersTask.get();
     }
 
     /**
      * Makes the extension read-only for all plugin users.
      */
-    void setGenerateParsersTask(Task generateParsersTask) {
+    void setGenerateParsersTask(TaskProvider<? extends Task> generateParsersTask) {
         this.generateParsersTask = generateParsersTask;
     }
 }
@@ -26,16 +26,14 @@
 
 package io.spine.tools.mc.js.gradle;
 
-import io.spine.tools.gradle.task.GradleTask;
 import io.spine.tools.mc.gradle.LanguagePlugin;
 import io.spine.tools.mc.js.code.index.CreateParsers;
 import io.spine.tools.mc.js.code.index.GenerateIndexFile;
 import io.spine.tools.mc.js.code.step.AppendTypeUrlGetter;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
+import org.gradle.api.tasks.TaskProvider;
 
 import static io.spine.tools.gradle.task.BaseTaskName.build;
-import static io.spine.tools.mc.js.gradle.McJsTaskName.generateJsonParsers;
 
 /**
  * The Gradle plugin which performs additional code generation for Protobuf types.
@@ -54,6 +52,10 @@ import static io.spine.tools.mc.js.gradle.McJsTaskName.generateJsonParsers;
  *         as well as generated parsers (to be used by the Spine Web).
  * </ul>
  *
+ * <p>The code is generated into the copies of the files compiled by Protobuf Compiler, which
+ * are put into the {@linkplain GenerateJsonParsers#getOutputDirectory() output directory} of
+ * the {@code generateJsonParsers} task. The compiled files stay as they are.
+ *
  * <p>The main plugin action may be retrieved and configured as necessary via the
  * {@linkplain McJsOptions "protoJs" extension}. By default, the action is a dependency of the
  * {@linkplain io.spine.tools.gradle.task.BaseTaskName#build build} task.
@@ -77,17 +79,18 @@ public class McJsPlugin extends LanguagePlugin {
     @Override
     public void apply(Project project) {
         super.apply(project);
-        ProtocConfig.applyTo(project);
+        var protocConfig = ProtocConfig.applyTo(project);
         var extension = McJsOptions.createIn(project);
+        extension.setProtocConfig(protocConfig);
         var task = createTaskIn(project);
         extension.setGenerateParsersTask(task);
     }
 
-    private static Task createTaskIn(Project project) {
-        var action = GenerateJsonParsers.newAction(project);
-        var newTask = GradleTask.newBuilder(generateJsonParsers, action)
-                .insertBeforeTask(build)
-                .applyNowTo(project);
-        return newTask.getTask();
+    private static TaskProvider<GenerateJsonParsers> createTaskIn(Project project) {
+        var newTask = GenerateJsonParsers.createIn(project);
+        project.getTasks()
+               .matching(task -> build.name().equals(task.getName()))
+               .configureEach(task -> task.dependsOn(newTask));
+        return newTask;
     }
 }
@@ -27,29 +27,105 @@
 package io.spine.tools.mc.js.gradle;
 
 import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.protobuf.gradle.GenerateProtoTask;
 import io.spine.tools.gradle.ProtocConfigurationPlugin;
+import io.spine.tools.mc.js.protoc.McJsProtocPlugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Action;
 import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * A Gradle plugin that performs {@code protoc} configurations relevant for JavaScript projects.
  *
- * @implNote Does not do anything in addition to the functionality provided by
- *         the abstract base class.
+ * <p>If the {@linkplain McJsOptions#useProtocPlugin(String) protoc plugin mode} is enabled,
+ * the plugin registers the {@linkplain McJsProtocPlugin Model Compiler for JS} as
+ * a {@code protoc} plugin and adds it to all the code generation tasks of the project.
+ * The plugin is told which {@linkplain McJsOptions#modules modules} provide the parsers
+ * of Spine Web, so that it imports the parsers from the modules directly.
  */
 final class ProtocConfig extends ProtocConfigurationPlugin {
 
+    /**
+     * The name of the {@code protoc} plugin.
+     */
+    static final String PLUGIN_NAME = "mcJs";
+
+    /**
+     * The name of the {@code protoc} built-in generating JavaScript code.
+     */
+    private static final String JS_BUILTIN = "js";
+
+    private @Nullable NamedDomainObjectContainer<ExecutableLocator> plugins;
+    private @Nullable Action<ExecutableLocator> pluginLocation;
+
     /**
      * Creates a new instance of the plugin and applies it to the given project.
      */
-    static void applyTo(Project project) {
+    static ProtocConfig applyTo(Project project) {
         var plugin = new ProtocConfig();
         plugin.apply(project);
+        project.getTasks()
+               .withType(GenerateProtoTask.class)
+               .configureEach(task -> {
+                   var options = McJsOptions.in(project);
+                   if (options.protocPlugin()) {
+                       var mcJs = task.getPlugins()
+                                      .maybeCreate(PLUGIN_NAME);
+                       mcJs.setOutputSubDir(jsOutputSubDir(task));
+                       var parameters =
+                               McJsProtocPlugin.parametersOf(options.generationOptions());
+                       parameters.forEach(mcJs::option);
+                       var modules = McJsOptions.combinedModules(options.modules);
+                       McJsProtocPlugin.parametersOf(modules)
+                                       .forEach(mcJs::option);
+                   }
+               });
+        return plugin;
+    }
+
+    /**
+     * Obtains the output directory of the JavaScript built-in of the given task.
+     *
+     * <p>The companion files require the compiled files by relative paths, and the index
+     * file requires both. Thus, the {@code protoc} plugin must put the files into the same
+     * directory as the built-in.
+     */
+    private static String jsOutputSubDir(GenerateProtoTask task) {
+        var js = task.getBuiltins()
+                     .findByName(JS_BUILTIN);
+        return js != null
+               ? js.getOutputSubDir()
+               : JS_BUILTIN;
     }
 
     @Override
     protected void configureProtocPlugins(NamedDomainObjectContainer<ExecutableLocator> plugins,
                                           Project project) {
-        // Do nothing.
+        this.plugins = plugins;
+        registerPlugin();
+    }
+
+    /**
+     * Registers the Model Compiler for JS as a {@code protoc} plugin.
+     *
+     * <p>The plugin is registered as soon as the {@code protoc} plugins of the project
+     * are configured.
+     *
+     * @param location
+     *         the action setting the artifact or the path of the plugin executable
+     */
+    void usePlugin(Action<ExecutableLocator> location) {
+        this.pluginLocation = checkNotNull(location);
+        registerPlugin();
+    }
+
+    private void registerPlugin() {
+        if (plugins != null && pluginLocation != null) {
+            var locator = plugins.maybeCreate(PLUGIN_NAME);
+            pluginLocation.execute(locator);
+        }
     }
 }
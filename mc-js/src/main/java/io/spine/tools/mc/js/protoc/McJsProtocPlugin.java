@@ -0,0 +1,453 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.protoc;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import io.spine.code.proto.FileSet;
+import io.spine.code.proto.TypeSet;
+import io.spine.option.OptionExtensionRegistry;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.mc.js.code.BytesDecoder;
+import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.UnknownEnumValue;
+import io.spine.tools.mc.js.code.index.CreateParsers;
+import io.spine.tools.mc.js.code.index.GenerateIndexFile;
+import io.spine.tools.mc.js.code.text.Comment;
+import io.spine.tools.mc.js.code.text.Import;
+import io.spine.tools.mc.js.code.text.Parser;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import io.spine.tools.mc.js.fs.ImportResolution;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.tools.js.fs.LibraryFile.INDEX;
+import static io.spine.tools.mc.js.code.index.CreateParsers.targetTypes;
+import static io.spine.tools.mc.js.code.step.AppendTypeUrlGetter.typeUrlMethods;
+import static io.spine.tools.mc.js.code.text.Parser.OBJECT_PARSER_FILE;
+import static io.spine.tools.mc.js.code.text.Parser.TYPE_PARSERS_FILE;
+import static java.lang.String.format;
+
+/**
+ * The Model Compiler for JS running as a {@code protoc} plugin.
+ *
+ * <p>The plugin receives the Protobuf files from {@code protoc} and generates the code
+ * along with the JavaScript code generated by {@code protoc} itself.
+ *
+ * <p>The JavaScript generator of {@code protoc} does not declare insertion points.
+ * So, the parsers and the type URL getters of each compiled file are put into
+ * its {@linkplain CompanionFiles companion file}. The plugin also generates the index file,
+ * which imports the companion files.
+ *
+ * <p>The companion files import the parsers of Spine Web. If the {@linkplain
+ * #parametersOf(ExternalModules) parameters} of the plugin tell which modules provide
+ * the parsers, the plugin imports them from the modules, and the companion files need
+ * no further processing. Otherwise, the imports of the companion files are resolved by
+ * the {@code generateJsonParsers} Gradle task along with the imports of the compiled files.
+ * The imports of the compiled files are always resolved by the task, since the plugin
+ * cannot change the code generated by {@code protoc}.
+ */
+public final class McJsProtocPlugin {
+
+    /** Prevents instantiation of this class. */
+    private McJsProtocPlugin() {
+    }
+
+    /**
+     * The parameter of the plugin which enables the {@linkplain GenerationOptions#compact()
+     * compact} code.
+     */
+    public static final String COMPACT_PARAMETER = "compact";
+
+    /**
+     * The parameter of the plugin which sets the {@linkplain GenerationOptions#bytesDecoder()
+     * decoder} of the {@code bytes} values.
+     *
+     * <p>The parameter is passed as {@code bytes_decoder=<NAME>}, where {@code <NAME>} is
+     * the name of a {@link BytesDecoder} constant.
+     */
+    public static final String BYTES_DECODER_PARAMETER = "bytes_decoder";
+
+    /**
+     * The parameter of the plugin which sets the {@linkplain
+     * GenerationOptions#keyDispatchThreshold() number of fields} above which the parsers
+     * iterate the keys of a parsed object.
+     *
+     * <p>The parameter is passed as {@code key_dispatch_threshold=<N>}.
+     */
+    public static final String KEY_DISPATCH_THRESHOLD_PARAMETER = "key_dispatch_threshold";
+
+    /**
+     * The parameter of the plugin which sets the {@linkplain
+     * GenerationOptions#unknownEnumValue() handling} of the unknown {@code enum} values.
+     *
+     * <p>The parameter is passed as {@code unknown_enum_value=<NAME>}, where {@code <NAME>} is
+     * the name of an {@link UnknownEnumValue} constant.
+     */
+    public static final String UNKNOWN_ENUM_VALUE_PARAMETER = "unknown_enum_value";
+
+    /**
+     * The parameter of the plugin which enables the {@linkplain
+     * GenerationOptions#rawFieldWrites() direct writes} of the field values.
+     */
+    public static final String RAW_FIELD_WRITES_PARAMETER = "raw_field_writes";
+
+    /**
+     * The parameter of the plugin which sets the {@linkplain GenerationOptions#lineSeparator()
+     * line separator} of the generated files.
+     *
+     * <p>The parameter is passed as {@code line_separator=<NAME>}, where {@code <NAME>} is
+     * either {@code LF} or {@code CRLF}.
+     *
+     * @see #lineSeparatorParameter(String)
+     */
+    public static final String LINE_SEPARATOR_PARAMETER = "line_separator";
+
+    /**
+     * The parameter of the plugin which sets the reference to the {@linkplain
+     * Parser#OBJECT_PARSER_FILE object parser} of Spine Web in the module providing it.
+     *
+     * <p>The parameter is passed as {@code object_parser=<REFERENCE>}. If the parameter is not
+     * passed, the object parser is imported by the relative path.
+     */
+    public static final String OBJECT_PARSER_PARAMETER = "object_parser";
+
+    /**
+     * The parameter of the plugin which sets the reference to the {@linkplain
+     * Parser#TYPE_PARSERS_FILE registry of parsers} of Spine Web in the module providing it.
+     *
+     * <p>The parameter is passed as {@code type_parsers=<REFERENCE>}. If the parameter is not
+     * passed, the registry is imported by the relative path.
+     */
+    public static final String TYPE_PARSERS_PARAMETER = "type_parsers";
+
+    private static final String LF = "LF";
+    private static final String CRLF = "CRLF";
+    private static final String CRLF_SEPARATOR = "\r\n";
+
+    /**
+     * Obtains the {@linkplain #LINE_SEPARATOR_PARAMETER parameter} which sets the given
+     * line separator.
+     *
+     * @param lineSeparator
+     *         either {@code "\n"} or {@code "\r\n"}
+     * @throws IllegalArgumentException
+     *         if the line separator is not supported
+     */
+    public static String lineSeparatorParameter(String lineSeparator) {
+        checkNotNull(lineSeparator);
+        var options = GenerationOptions.newBuilder()
+                .withLineSeparator(lineSeparator)
+                .build();
+        var name = CRLF_SEPARATOR.equals(options.lineSeparator()) ? CRLF : LF;
+        return LINE_SEPARATOR_PARAMETER + '=' + name;
+    }
+
+    /**
+     * Obtains the parameters which make the plugin generate the code with the given options.
+     */
+    public static ImmutableList<String> parametersOf(GenerationOptions options) {
+        checkNotNull(options);
+        var parameters = ImmutableList.<String>builder();
+        if (options.compact()) {
+            parameters.add(COMPACT_PARAMETER);
+        }
+        if (options.rawFieldWrites()) {
+            parameters.add(RAW_FIELD_WRITES_PARAMETER);
+        }
+        parameters.add(BYTES_DECODER_PARAMETER + '=' + options.bytesDecoder().name())
+                  .add(KEY_DISPATCH_THRESHOLD_PARAMETER + '=' + options.keyDispatchThreshold())
+                  .add(UNKNOWN_ENUM_VALUE_PARAMETER + '=' + options.unknownEnumValue().name())
+                  .add(lineSeparatorParameter(options.lineSeparator()));
+        return parameters.build();
+    }
+
+    /**
+     * Obtains the parameters which make the plugin import the parsers of Spine Web
+     * from the given modules.
+     *
+     * <p>The parameters are passed only for the parsers provided by any of the modules.
+     */
+    public static ImmutableList<String> parametersOf(ExternalModules modules) {
+        checkNotNull(modules);
+        var parameters = ImmutableList.<String>builder();
+        ImportResolution.inModule(OBJECT_PARSER_FILE, modules)
+                        .ifPresent(ref -> parameters.add(OBJECT_PARSER_PARAMETER + '=' + ref));
+        ImportResolution.inModule(TYPE_PARSERS_FILE, modules)
+                        .ifPresent(ref -> parameters.add(TYPE_PARSERS_PARAMETER + '=' + ref));
+        return parameters.build();
+    }
+
+    /**
+     * Tells if the plugin imports all the parsers of Spine Web from the given modules.
+     *
+     * <p>If so, the imports of the companion files need no resolution.
+     */
+    public static boolean importsParsersFrom(ExternalModules modules) {
+        checkNotNull(modules);
+        return ImportResolution.inModule(OBJECT_PARSER_FILE, modules).isPresent()
+                && ImportResolution.inModule(TYPE_PARSERS_FILE, modules).isPresent();
+    }
+
+    /**
+     * Reads the {@link CodeGeneratorRequest} from the standard input and writes
+     * the {@link CodeGeneratorResponse} to the standard output.
+     */
+    public static void main(String[] args) throws IOException {
+        var request = CodeGeneratorRequest.parseFrom(System.in);
+        var response = generate(request);
+        response.writeTo(System.out);
+        System.out.flush();
+    }
+
+    /**
+     * Generates the code for the files requested by {@code protoc}.
+     *
+     * <p>If the Protobuf files cannot be processed, or the parameters of the plugin are not
+     * valid, the response contains the error.
+     */
+    static CodeGeneratorResponse generate(CodeGeneratorRequest request) {
+        checkNotNull(request);
+        FileSet files;
+        GenerationOptions options;
+        Map<String, String> parserImports = new HashMap<>();
+        try {
+            files = filesToGenerate(request);
+            options = options(request, parserImports);
+        } catch (InvalidProtocolBufferException
+                 | DescriptorValidationException
+                 | IllegalArgumentException e) {
+            return CodeGeneratorResponse.newBuilder()
+                    .setError(e.getMessage())
+                    .build();
+        }
+        var response = CodeGeneratorResponse.newBuilder();
+        for (var file : files.files()) {
+            if (TypeSet.from(file).isEmpty()) {
+                continue;
+            }
+            var fileName = FileName.from(file);
+            response.addFile(responseFile(CompanionFiles.nameOf(fileName),
+                                          companionCode(file, fileName, options),
+                                          options,
+                                          importsIn(fileName, parserImports)));
+        }
+        response.addFile(responseFile(INDEX.fileName().toString(),
+                                      GenerateIndexFile.codeWithCompanionsFor(files),
+                                      options,
+                                      UnaryOperator.identity()));
+        return response.build();
+    }
+
+    /**
+     * Builds the descriptors of the files to generate.
+     *
+     * <p>{@code protoc} passes the files in the topological order, so the dependencies
+     * of a file are always built before the file itself.
+     *
+     * <p>The files are re-parsed with the Spine options registered, so that the options,
+     * such as {@code type_url_prefix}, are available to the generated code.
+     */
+    private static FileSet filesToGenerate(CodeGeneratorRequest request)
+            throws InvalidProtocolBufferException, DescriptorValidationException {
+        Map<String, FileDescriptor> built = new HashMap<>();
+        for (var proto : request.getProtoFileList()) {
+            var withOptions = FileDescriptorProto.parseFrom(proto.toByteString(),
+                                                            OptionExtensionRegistry.instance());
+            var dependencies = withOptions.getDependencyList()
+                                          .stream()
+                                          .map(built::get)
+                                          .toArray(FileDescriptor[]::new);
+            var file = FileDescriptor.buildFrom(withOptions, dependencies);
+            built.put(file.getName(), file);
+        }
+        var toGenerate = ImmutableSet.<FileDescriptor>builder();
+        for (var name : request.getFileToGenerateList()) {
+            toGenerate.add(built.get(name));
+        }
+        return FileSet.of(toGenerate.build());
+    }
+
+    /**
+     * Obtains the code of the companion file of the given compiled file.
+     */
+    private static CodeWriter
+    companionCode(FileDescriptor file, FileName fileName, GenerationOptions options) {
+        var compiledFile = Path.of(fileName.toString())
+                               .getFileName()
+                               .toString();
+        var code = new CodeWriter();
+        code.append(Comment.generatedBySpine())
+            .append(Import.library("./" + compiledFile));
+        if (!targetTypes(file).isEmpty()) {
+            code.append(CreateParsers.codeFor(file, options));
+        }
+        code.append(typeUrlMethods(file));
+        return code;
+    }
+
+    /**
+     * Obtains the function which replaces the relative imports of the parsers of Spine Web
+     * in the companion of the given compiled file with the imports from the modules.
+     *
+     * @param compiledFile
+     *         the name of the compiled file
+     * @param parserImports
+     *         the references to the parsers in the modules by the paths of the parsers
+     *         relative to the root directory of the generated code
+     */
+    private static UnaryOperator<String>
+    importsIn(FileName compiledFile, Map<String, String> parserImports) {
+        if (parserImports.isEmpty()) {
+            return UnaryOperator.identity();
+        }
+        var replacements = new HashMap<String, String>();
+        parserImports.forEach((file, ref) -> replacements.put(
+                quoted(compiledFile.pathToRoot() + file), quoted(ref)
+        ));
+        return line -> {
+            var result = line;
+            for (var replacement : replacements.entrySet()) {
+                result = result.replace(replacement.getKey(), replacement.getValue());
+            }
+            return result;
+        };
+    }
+
+    private static String quoted(String reference) {
+        return '\'' + reference + '\'';
+    }
+
+    /**
+     * Obtains the options of the generated code from the comma-separated parameters
+     * of the plugin.
+     *
+     * <p>The references to the parsers of Spine Web passed to the plugin are put into
+     * the given map by the paths of the parsers relative to the root directory of
+     * the generated code.
+     *
+     * @throws IllegalArgumentException
+     *         if a parameter is unknown or has an invalid value
+     */
+    private static GenerationOptions options(CodeGeneratorRequest request,
+                                             Map<String, String> parserImports) {
+        var parameters = Splitter.on(',')
+                                 .trimResults()
+                                 .omitEmptyStrings()
+                                 .splitToList(request.getParameter());
+        var options = GenerationOptions.newBuilder();
+        for (var parameter : parameters) {
+            var separatorIndex = parameter.indexOf('=');
+            var name = separatorIndex < 0
+                       ? parameter
+                       : parameter.substring(0, separatorIndex);
+            var value = separatorIndex < 0
+                        ? null
+                        : parameter.substring(separatorIndex + 1);
+            switch (name) {
+                case COMPACT_PARAMETER:
+                    checkArgument(value == null, "Unexpected value of `%s`.", parameter);
+                    options.withCompact(true);
+                    break;
+                case RAW_FIELD_WRITES_PARAMETER:
+                    checkArgument(value == null, "Unexpected value of `%s`.", parameter);
+                    options.withRawFieldWrites(true);
+                    break;
+                case BYTES_DECODER_PARAMETER:
+                    var decoder = BytesDecoder.valueOf(requireValue(parameter, value));
+                    options.withBytesDecoder(decoder);
+                    break;
+                case KEY_DISPATCH_THRESHOLD_PARAMETER:
+                    var threshold = Integer.parseInt(requireValue(parameter, value));
+                    options.withKeyDispatchThreshold(threshold);
+                    break;
+                case UNKNOWN_ENUM_VALUE_PARAMETER:
+                    var handling = UnknownEnumValue.valueOf(requireValue(parameter, value));
+                    options.withUnknownEnumValue(handling);
+                    break;
+                case LINE_SEPARATOR_PARAMETER:
+                    options.withLineSeparator(lineSeparator(requireValue(parameter, value)));
+                    break;
+                case OBJECT_PARSER_PARAMETER:
+                    parserImports.put(OBJECT_PARSER_FILE, requireValue(parameter, value));
+                    break;
+                case TYPE_PARSERS_PARAMETER:
+                    parserImports.put(TYPE_PARSERS_FILE, requireValue(parameter, value));
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            format("Unknown parameter of the plugin: `%s`.", parameter)
+                    );
+            }
+        }
+        return options.build();
+    }
+
+    private static String requireValue(String parameter, @Nullable String value) {
+        checkArgument(value != null, "The parameter `%s` requires a value.", parameter);
+        return value;
+    }
+
+    private static String lineSeparator(String name) {
+        if (CRLF.equals(name)) {
+            return CRLF_SEPARATOR;
+        }
+        checkArgument(LF.equals(name), "Unsupported line separator: `%s`.", name);
+        return GenerationOptions.DEFAULT_LINE_SEPARATOR;
+    }
+
+    private static CodeGeneratorResponse.File responseFile(String name,
+                                                           CodeWriter code,
+                                                           GenerationOptions options,
+                                                           UnaryOperator<String> imports) {
+        var content = new StringBuilder();
+        for (var line : code.codeLines(options)) {
+            content.append(imports.apply(line))
+                   .append(options.lineSeparator());
+        }
+        return CodeGeneratorResponse.File.newBuilder()
+                .setName(name)
+                .setContent(content.toString())
+                .build();
+    }
+}
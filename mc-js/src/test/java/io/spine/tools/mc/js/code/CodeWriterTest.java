@@ -38,6 +38,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.Assertions.assertIllegalArgument;
 import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
@@ -193,6 +195,37 @@ class CodeWriterTest {
             assertMergedAndAligned(0, 2);
         }
 
+        @Test
+        @DisplayName("adjusting the depth of nested writers")
+        void nestedWriters() {
+            var inner = GivenWriter.newCodeLines(SECOND_PART);
+            var middle = GivenWriter.newCodeLines(FIRST_PART);
+            middle.increaseDepth();
+            middle.append(inner);
+            var outer = new CodeWriter();
+            outer.increaseDepth()
+                 .increaseDepth();
+            outer.append(middle);
+            assertThat(outer.codeLines())
+                    .containsExactly("  " + FIRST_PART, "    " + SECOND_PART)
+                    .inOrder();
+        }
+
+        @Test
+        @DisplayName("not affected by the later changes of the appended writer")
+        void notAffectedByLaterChanges() {
+            var first = GivenWriter.newCodeLines(FIRST_PART);
+            var second = GivenWriter.newCodeLines(SECOND_PART);
+            first.append(second);
+            second.append(LINE);
+            assertThat(first.codeLines())
+                    .containsExactly(FIRST_PART, SECOND_PART)
+                    .inOrder();
+            assertThat(second.codeLines())
+                    .containsExactly(SECOND_PART, LINE)
+                    .inOrder();
+        }
+
         /**
          * Asserts that two {@link CodeWriter} are merged
          * and the depth of the appended lines is adjusted.
@@ -272,6 +305,43 @@ class CodeWriterTest {
                 .isEqualTo(expected);
     }
 
+    @Test
+    @DisplayName("write all lines of code with the given separator to an output")
+    void writeToOutput() throws IOException {
+        var jsOutput = GivenWriter.newCodeLines("line 1");
+        jsOutput.increaseDepth();
+        jsOutput.append("line 2");
+        var output = new StringBuilder();
+        var options = GenerationOptions.newBuilder()
+                .withLineSeparator("\r\n")
+                .build();
+        jsOutput.writeTo(output, options);
+        assertThat(output.toString())
+                .isEqualTo("line 1\r\n  line 2\r\n");
+    }
+
+    @Test
+    @DisplayName("omit indentation, empty lines, and repeated comments in compact code")
+    void compactCode() {
+        var jsOutput = new CodeWriter();
+        jsOutput.append(Comment.generatedBySpine())
+                .enterBlock(CUSTOM_BLOCK)
+                .append(Line.emptyLine())
+                .append(Comment.generatedBySpine())
+                .append(LINE)
+                .exitBlock();
+        var options = GenerationOptions.newBuilder()
+                .withCompact(true)
+                .build();
+        assertThat(jsOutput.codeLines(options))
+                .containsExactly(
+                        Comment.generatedBySpine().text(),
+                        CUSTOM_BLOCK + " {",
+                        LINE,
+                        "}"
+                ).inOrder();
+    }
+
     private static StringSubject assertLines(CodeWriter lines) {
         return assertThat(lines.toString());
     }
@@ -29,20 +29,28 @@ package io.spine.tools.mc.js.code.field;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import io.spine.tools.js.code.FieldName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import io.spine.type.TypeUrl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.mc.js.code.field.FieldGenerator.FIELD_VALUE;
 import static io.spine.tools.mc.js.code.field.MapFieldGenerator.ATTRIBUTE;
 import static io.spine.tools.mc.js.code.field.MapFieldGenerator.MAP_KEY;
 import static io.spine.tools.mc.js.code.field.RepeatedFieldGenerator.LIST_ITEM;
+import static io.spine.tools.mc.js.code.field.RepeatedFieldGenerator.LIST_VALUES;
+import static io.spine.tools.mc.js.code.field.given.Given.distantField;
+import static io.spine.tools.mc.js.code.field.given.Given.extendableMessageField;
 import static io.spine.tools.mc.js.code.field.given.Given.mapField;
+import static io.spine.tools.mc.js.code.field.given.Given.primitiveField;
 import static io.spine.tools.mc.js.code.field.given.Given.repeatedField;
+import static io.spine.tools.mc.js.code.field.given.Given.repeatedPrimitiveField;
 import static io.spine.tools.mc.js.code.field.given.Given.singularField;
 import static io.spine.tools.mc.js.code.given.Generators.assertContains;
+import static io.spine.tools.mc.js.code.text.Parser.cachedParserVariable;
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -85,10 +93,10 @@ class FieldGeneratorTest {
         @DisplayName("JS list items in case of repeated field")
         void repeated() {
             repeatedGenerator.iterateListValues(JS_OBJECT);
-            var forEach = JS_OBJECT + ".forEach";
-            assertContains(jsOutput, forEach);
-            var forEachItems = '(' + LIST_ITEM + ", index, array)";
-            assertContains(jsOutput, forEachItems);
+            var loop = "for (let index = 0, length = " + JS_OBJECT + ".length;";
+            assertContains(jsOutput, loop);
+            var listItem = "let " + LIST_ITEM + " = " + JS_OBJECT + "[index];";
+            assertContains(jsOutput, listItem);
         }
 
         @Test
@@ -118,8 +126,11 @@ class FieldGeneratorTest {
     void callParser() {
         var fieldValue = singularGenerator.acquireFieldValue();
         singularGenerator.generate();
-        var typeUrl = TypeUrl.from(singularField().getMessageType());
-        var parserCall = format("TypeParsers.parserFor('%s').fromObject(%s);", typeUrl, fieldValue);
+        var message = singularField().getMessageType();
+        var typeUrl = TypeUrl.from(message);
+        var cached = cachedParserVariable(message);
+        var parserCall = format("(%s || (%s = TypeParsers.parserFor('%s'))).fromObject(%s);",
+                                cached, cached, typeUrl, fieldValue);
         assertContains(jsOutput, parserCall);
     }
 
@@ -127,7 +138,8 @@ class FieldGeneratorTest {
     @DisplayName("parse object attribute value to obtain key in case of map field")
     void parseMapKey() {
         mapGenerator.generate();
-        var parseAttribute = MAP_KEY + " = parseInt(" + ATTRIBUTE + ')';
+        var parseAttribute = format("%s = typeof %s === 'number' ? %s : parseInt(%s)",
+                                    MAP_KEY, ATTRIBUTE, ATTRIBUTE, ATTRIBUTE);
         assertContains(jsOutput, parseAttribute);
     }
 
@@ -142,13 +154,38 @@ class FieldGeneratorTest {
     }
 
     @Test
-    @DisplayName("add value to repeated field")
+    @DisplayName("set repeated field to all parsed values at once")
     void addToRepeated() {
         repeatedGenerator.generate();
+        var pushCall = format("%s.push(%s)", LIST_VALUES, FIELD_VALUE);
+        assertContains(jsOutput, pushCall);
         var fieldName = FieldName.from(repeatedField());
-        var addCall = format("%s.add%s(%s)",
-                             repeatedGenerator.targetVariable(), fieldName, FIELD_VALUE);
-        assertContains(jsOutput, addCall);
+        var setListCall = format("%s.set%sList(%s);",
+                                 repeatedGenerator.targetVariable(), fieldName, LIST_VALUES);
+        assertContains(jsOutput, setListCall);
+        assertThat(jsOutput.toString()).doesNotContain(".add" + fieldName);
+    }
+
+    @Test
+    @DisplayName("skip null items of repeated message field")
+    void skipNullRepeatedMessages() {
+        repeatedGenerator.generate();
+        var nullCheck = format("if (%s !== null)", LIST_ITEM);
+        assertContains(jsOutput, nullCheck);
+        var pushNull = format("%s.push(null)", LIST_VALUES);
+        assertThat(jsOutput.toString()).doesNotContain(pushNull);
+    }
+
+    @Test
+    @DisplayName("copy repeated field values which need no parsing")
+    void copyRepeatedPrimitives() {
+        var generator = fieldGenerator(repeatedPrimitiveField());
+        generator.generate();
+        var fieldName = FieldName.from(repeatedPrimitiveField());
+        var setListCall = format("%s.set%sList(", generator.targetVariable(), fieldName);
+        assertContains(jsOutput, setListCall);
+        assertContains(jsOutput, ".slice()");
+        assertThat(jsOutput.toString()).doesNotContain("for (");
     }
 
     @Test
@@ -162,6 +199,72 @@ class FieldGeneratorTest {
         assertContains(jsOutput, addCall);
     }
 
+    @Nested
+    @DisplayName("if raw field writes are enabled")
+    class RawFieldWrites {
+
+        private final GenerationOptions options = GenerationOptions.newBuilder()
+                .withRawFieldWrites(true)
+                .build();
+
+        @Test
+        @DisplayName("write scalar field value directly into the message")
+        void writeScalar() {
+            var field = primitiveField();
+            rawGenerator(field).generate();
+            var write = format("%s.array[%d] = %s;",
+                               MESSAGE_NAME, field.getNumber() - 1, FIELD_VALUE);
+            assertContains(jsOutput, write);
+            assertThat(jsOutput.toString()).doesNotContain(".set");
+        }
+
+        @Test
+        @DisplayName("write repeated scalar field values directly into the message")
+        void writeRepeatedScalar() {
+            var field = repeatedPrimitiveField();
+            rawGenerator(field).generate();
+            var write = format("%s.array[%d] = ", MESSAGE_NAME, field.getNumber() - 1);
+            assertContains(jsOutput, write);
+            assertThat(jsOutput.toString()).doesNotContain(".set");
+        }
+
+        @Test
+        @DisplayName("set message field value via the setter")
+        void setMessage() {
+            var field = singularField();
+            rawGenerator(field).generate();
+            var fieldName = FieldName.from(field);
+            var setterCall = format("%s.set%s(%s)", MESSAGE_NAME, fieldName, FIELD_VALUE);
+            assertContains(jsOutput, setterCall);
+            assertThat(jsOutput.toString()).doesNotContain(".array[");
+        }
+
+        @Test
+        @DisplayName("set field of extendable message via the setter")
+        void setExtendableMessageField() {
+            assertSetViaSetter(extendableMessageField());
+        }
+
+        @Test
+        @DisplayName("set field above the pivot via the setter")
+        void setDistantField() {
+            assertSetViaSetter(distantField());
+        }
+
+        private void assertSetViaSetter(FieldDescriptor field) {
+            rawGenerator(field).generate();
+            var fieldName = FieldName.from(field);
+            var setterCall = format("%s.set%s(%s)", MESSAGE_NAME, fieldName, FIELD_VALUE);
+            assertContains(jsOutput, setterCall);
+            assertThat(jsOutput.toString()).doesNotContain(".array[");
+        }
+
+        private FieldGenerator rawGenerator(FieldDescriptor descriptor) {
+            var fieldToParse = new FieldToParse(descriptor, OBJECT_NAME, MESSAGE_NAME);
+            return FieldGenerators.createFor(fieldToParse, jsOutput, options);
+        }
+    }
+
     private SingularFieldGenerator singularGenerator() {
         return (SingularFieldGenerator) fieldGenerator(singularField());
     }
@@ -38,7 +38,9 @@ enum FieldContainerEntry {
 
     SINGULAR_FIELD("singular_field"),
     REPEATED_FIELD("repeated_field"),
-    MAP_FIELD("map_field");
+    MAP_FIELD("map_field"),
+    REPEATED_PRIMITIVE_FIELD("repeated_primitive_field"),
+    STRING_INT64_FIELD("string_int64_field");
 
     private final String protoName;
 
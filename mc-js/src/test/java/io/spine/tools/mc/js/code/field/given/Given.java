@@ -27,12 +27,16 @@
 package io.spine.tools.mc.js.code.field.given;
 
 import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.spine.js.generate.field.DistantFieldContainer;
+import io.spine.js.generate.field.ExtendableContainer;
 
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.ENUM_FIELD;
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.MAP_FIELD;
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.MESSAGE_FIELD;
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.PRIMITIVE_FIELD;
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.REPEATED_FIELD;
+import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.REPEATED_PRIMITIVE_FIELD;
+import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.STRING_INT64_FIELD;
 import static io.spine.tools.mc.js.code.field.given.FieldContainerEntry.TIMESTAMP_FIELD;
 
 public class Given {
@@ -65,10 +69,28 @@ public class Given {
         return field(REPEATED_FIELD);
     }
 
+    public static FieldDescriptor repeatedPrimitiveField() {
+        return field(REPEATED_PRIMITIVE_FIELD);
+    }
+
+    public static FieldDescriptor stringInt64Field() {
+        return field(STRING_INT64_FIELD);
+    }
+
     public static FieldDescriptor mapField() {
         return field(MAP_FIELD);
     }
 
+    public static FieldDescriptor extendableMessageField() {
+        return ExtendableContainer.getDescriptor()
+                                  .findFieldByName("name");
+    }
+
+    public static FieldDescriptor distantField() {
+        return DistantFieldContainer.getDescriptor()
+                                    .findFieldByName("distant_field");
+    }
+
     private static FieldDescriptor field(FieldContainerEntry entry) {
         var fieldName = entry.protoName();
         var field = io.spine.tools.mc.js.code.given.Given.message().findFieldByName(fieldName);
@@ -29,9 +29,11 @@ package io.spine.tools.mc.js.code.field.parser;
 import com.google.common.testing.NullPointerTester;
 import com.google.protobuf.Descriptors.EnumDescriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
-import io.spine.tools.js.code.TypeName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.UnknownEnumValue;
 import io.spine.tools.mc.js.code.given.Generators;
+import io.spine.tools.mc.js.code.text.EnumTable;
 import io.spine.type.TypeUrl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -41,9 +43,11 @@ import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.mc.js.code.field.given.Given.enumField;
 import static io.spine.tools.mc.js.code.field.given.Given.messageField;
 import static io.spine.tools.mc.js.code.field.given.Given.primitiveField;
+import static io.spine.tools.mc.js.code.field.given.Given.repeatedPrimitiveField;
 import static io.spine.tools.mc.js.code.field.given.Given.timestampField;
 import static io.spine.tools.mc.js.code.field.parser.Parser.createFor;
 import static io.spine.tools.mc.js.code.text.Parser.PARSE_METHOD;
+import static io.spine.tools.mc.js.code.text.Parser.cachedParserVariable;
 import static java.lang.String.format;
 
 @SuppressWarnings("DuplicateStringLiteralInspection")
@@ -78,6 +82,7 @@ class ParserTest {
     void nullCheck() {
         new NullPointerTester()
                 .setDefault(FieldDescriptor.class, messageField())
+                .setDefault(GenerationOptions.class, GenerationOptions.defaults())
                 .testAllPublicStaticMethods(Parser.class);
     }
 
@@ -109,24 +114,58 @@ class ParserTest {
         assertInstanceOf(MessageParser.class);
     }
 
+    @Test
+    @DisplayName("tell if it leaves values as is")
+    void tellIdentity() {
+        assertThat(createFor(repeatedPrimitiveField(), writer).isIdentity()).isTrue();
+        assertThat(createFor(primitiveField(), writer).isIdentity()).isFalse();
+        assertThat(createFor(enumField(), writer).isIdentity()).isFalse();
+        assertThat(createFor(messageField(), writer).isIdentity()).isFalse();
+    }
+
     @Test
     @DisplayName("parse primitive field via predefined code")
     void parsePrimitive() {
         parser = createFor(primitiveField(), writer);
         parser.parseIntoVariable(VALUE, VARIABLE);
-        var code = "let " + VARIABLE + " = parseInt(" + VALUE + ')';
+        var code = format("let %s = typeof %s === 'number' ? %s : parseInt(%s)",
+                          VARIABLE, VALUE, VALUE, VALUE);
         assertContains(code);
     }
 
     @Test
-    @DisplayName("parse enum field via JS enum object attribute")
+    @DisplayName("parse enum field via the lookup table of the enum")
     void parseEnum() {
         parser = createFor(enumField(), writer);
         parser.parseIntoVariable(VALUE, VARIABLE);
-        var enumType = enumField().getEnumType();
-        var typeName = TypeName.from(enumType);
-        var code = "let " + VARIABLE + " = " + typeName + '[' + VALUE + ']';
+        var table = EnumTable.variableName(enumField().getEnumType());
+        var code = "let " + VARIABLE + " = " + table + '[' + VALUE + "];";
         assertContains(code);
+        assertThat(writer.toString()).doesNotContain("undefined");
+    }
+
+    @Test
+    @DisplayName("parse unknown enum value into the default value")
+    void parseUnknownEnumIntoDefault() {
+        var options = GenerationOptions.newBuilder()
+                .withUnknownEnumValue(UnknownEnumValue.DEFAULT_VALUE)
+                .build();
+        parser = createFor(enumField(), writer, options);
+        parser.parseIntoVariable(VALUE, VARIABLE);
+        assertContains("if (" + VARIABLE + " === undefined) {");
+        assertContains(VARIABLE + " = 0;");
+    }
+
+    @Test
+    @DisplayName("throw an error upon unknown enum value")
+    void throwOnUnknownEnum() {
+        var options = GenerationOptions.newBuilder()
+                .withUnknownEnumValue(UnknownEnumValue.ERROR)
+                .build();
+        parser = createFor(enumField(), writer, options);
+        parser.parseIntoVariable(VALUE, VARIABLE);
+        assertContains("if (" + VARIABLE + " === undefined) {");
+        assertContains("throw new Error(");
     }
 
     @Test
@@ -142,8 +181,11 @@ class ParserTest {
     void parseWellKnown() {
         parser = createFor(messageField(), writer);
         parser.parseIntoVariable(VALUE, VARIABLE);
-        var typeUrl = TypeUrl.from(messageField().getMessageType());
-        var code = format("TypeParsers.parserFor('%s').fromObject(%s);", typeUrl, VALUE);
+        var message = messageField().getMessageType();
+        var typeUrl = TypeUrl.from(message);
+        var cached = cachedParserVariable(message);
+        var code = format("(%s || (%s = TypeParsers.parserFor('%s'))).fromObject(%s);",
+                          cached, cached, typeUrl, VALUE);
         assertContains(code);
     }
 }
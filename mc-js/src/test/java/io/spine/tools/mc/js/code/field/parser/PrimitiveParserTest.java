@@ -26,7 +26,10 @@
 
 package io.spine.tools.mc.js.code.field.parser;
 
+import io.spine.tools.mc.js.code.BytesDecoder;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.field.given.Given;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -37,9 +40,10 @@ import static com.google.protobuf.Descriptors.FieldDescriptor.Type.BYTES;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FLOAT;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT32;
 import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT64;
-import static io.spine.tools.mc.js.code.field.parser.BytesParser.BASE64_LIB;
-import static io.spine.tools.mc.js.code.field.parser.BytesParser.BASE64_VAR;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.STRING;
 import static io.spine.tools.mc.js.code.given.Generators.assertContains;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("`PrimitiveParser` should")
 class PrimitiveParserTest {
@@ -69,15 +73,15 @@ class PrimitiveParserTest {
         @Test
         @DisplayName("identity")
         void createIdentityParser() {
-            parser = PrimitiveTypeParser.createFor(INT32, writer);
+            parser = PrimitiveTypeParser.createFor(STRING, writer);
             assertIsInstanceOf(IdentityParser.class);
         }
 
         @Test
-        @DisplayName("long value")
-        void createLongParser() {
-            parser = PrimitiveTypeParser.createFor(INT64, writer);
-            assertIsInstanceOf(LongParser.class);
+        @DisplayName("32-bit integer value")
+        void createInt32Parser() {
+            parser = PrimitiveTypeParser.createFor(INT32, writer);
+            assertIsInstanceOf(Int32Parser.class);
         }
 
         @Test
@@ -95,6 +99,13 @@ class PrimitiveParserTest {
         }
     }
 
+    @Test
+    @DisplayName("not create a parser for a 64-bit type regardless of the field")
+    void notCreateLongParserByType() {
+        assertThrows(IllegalStateException.class,
+                     () -> PrimitiveTypeParser.createFor(INT64, writer));
+    }
+
     @Nested
     @DisplayName("generate code for parsing")
     class GeneratingCode {
@@ -102,18 +113,41 @@ class PrimitiveParserTest {
         @Test
         @DisplayName("value to itself")
         void parseIdentically() {
-            parser = PrimitiveTypeParser.createFor(INT32, writer);
+            parser = PrimitiveTypeParser.createFor(STRING, writer);
             parser.parseIntoVariable(VALUE, VARIABLE);
             var parse = "let " + VARIABLE + " = " + VALUE;
             assertContains(writer, parse);
         }
 
         @Test
-        @DisplayName("long value")
-        void parseLong() {
-            parser = PrimitiveTypeParser.createFor(INT64, writer);
+        @DisplayName("32-bit integer value")
+        void parseInt32() {
+            parser = PrimitiveTypeParser.createFor(INT32, writer);
+            parser.parseIntoVariable(VALUE, VARIABLE);
+            var parse = format("let %s = typeof %s === 'number' ? %s : parseInt(%s, 10)",
+                               VARIABLE, VALUE, VALUE, VALUE);
+            assertContains(writer, parse);
+        }
+
+        @Test
+        @DisplayName("long value of a field with the default `jstype`")
+        void parseLongFieldIntoNumber() {
+            parser = new PrimitiveTypeParser(Given.primitiveField(), writer,
+                                             GenerationOptions.defaults());
             parser.parseIntoVariable(VALUE, VARIABLE);
-            var parse = "let " + VARIABLE + " = parseInt(" + VALUE + ')';
+            var parse = format("let %s = typeof %s === 'number' ? %s : parseInt(%s)",
+                               VARIABLE, VALUE, VALUE, VALUE);
+            assertContains(writer, parse);
+        }
+
+        @Test
+        @DisplayName("long value of a `JS_STRING` field into a string")
+        void parseLongFieldIntoString() {
+            parser = new PrimitiveTypeParser(Given.stringInt64Field(), writer,
+                                             GenerationOptions.defaults());
+            parser.parseIntoVariable(VALUE, VARIABLE);
+            var parse = format("let %s = typeof %s === 'string' ? %s : String(%s)",
+                               VARIABLE, VALUE, VALUE, VALUE);
             assertContains(writer, parse);
         }
 
@@ -122,7 +156,8 @@ class PrimitiveParserTest {
         void parseFloat() {
             parser = PrimitiveTypeParser.createFor(FLOAT, writer);
             parser.parseIntoVariable(VALUE, VARIABLE);
-            var parse = "let " + VARIABLE + " = parseFloat(" + VALUE + ')';
+            var parse = format("let %s = typeof %s === 'number' ? %s : Number(%s)",
+                               VARIABLE, VALUE, VALUE, VALUE);
             assertContains(writer, parse);
         }
 
@@ -131,9 +166,20 @@ class PrimitiveParserTest {
         void parseBytes() {
             parser = PrimitiveTypeParser.createFor(BYTES, writer);
             parser.parseIntoVariable(VALUE, VARIABLE);
-            var base64Import = "let " + BASE64_VAR + " = require('" + BASE64_LIB + "');";
-            assertContains(writer, base64Import);
-            var parse = "let " + VARIABLE + " = " + BASE64_VAR + ".toByteArray(" + VALUE + ')';
+            var parse = "let " + VARIABLE + " = base64.toByteArray(" + VALUE + ')';
+            assertContains(writer, parse);
+            assertThat(writer.toString()).doesNotContain("require(");
+        }
+
+        @Test
+        @DisplayName("bytes value with the configured decoder")
+        void parseBytesWithDecoder() {
+            var options = GenerationOptions.newBuilder()
+                    .withBytesDecoder(BytesDecoder.NODE_BUFFER)
+                    .build();
+            parser = PrimitiveTypeParser.createFor(BYTES, writer, options);
+            parser.parseIntoVariable(VALUE, VARIABLE);
+            var parse = "let " + VARIABLE + " = Buffer.from(" + VALUE + ", 'base64')";
             assertContains(writer, parse);
         }
     }
@@ -31,8 +31,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.mc.js.code.field.given.Given.messageField;
 import static io.spine.tools.mc.js.code.field.given.Given.primitiveField;
+import static io.spine.tools.mc.js.code.field.given.Given.repeatedField;
 import static io.spine.tools.mc.js.code.field.precondition.FieldPrecondition.preconditionFor;
 import static io.spine.tools.mc.js.code.given.Generators.assertContains;
 import static java.lang.String.format;
@@ -78,4 +80,15 @@ class FieldPreconditionTest {
         var setNull = format(SETTER_FORMAT, "null");
         assertContains(jsOutput, setNull);
     }
+
+    @Test
+    @DisplayName("skip null items of repeated message field")
+    void skipNullMessageItem() {
+        var precondition = preconditionFor(repeatedField(), jsOutput);
+        precondition.performNullCheck(FIELD_VALUE, SETTER_FORMAT);
+        var check = "if (" + FIELD_VALUE + " !== null)";
+        assertContains(jsOutput, check);
+        var setNull = format(SETTER_FORMAT, "null");
+        assertThat(jsOutput.toString()).doesNotContain(setNull);
+    }
 }
@@ -52,6 +52,11 @@ public final class GivenProject {
         return new GivenProject(testSuite);
     }
 
+    public File projectDir() {
+        compiled();
+        return projectDir;
+    }
+
     public FileSet mainFileSet() {
         var mainDescriptorsDir = project()
                 .buildRoot()
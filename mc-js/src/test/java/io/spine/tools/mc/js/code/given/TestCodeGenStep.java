@@ -31,6 +31,8 @@ import io.spine.code.proto.FileSet;
 import io.spine.tools.mc.js.code.step.CodeGenStep;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -60,6 +62,14 @@ public class TestCodeGenStep extends CodeGenStep {
         return super.filter(fileSet);
     }
 
+    /**
+     * Performs the given action for each of the given files in the way the step
+     * processes the compiled files.
+     */
+    public <T> void processEach(Collection<T> files, Consumer<T> action) {
+        forEachFile(files, action);
+    }
+
     public boolean areSourcesProcessed() {
         return sourcesProcessed;
     }
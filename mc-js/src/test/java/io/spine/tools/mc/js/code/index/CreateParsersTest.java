@@ -33,15 +33,21 @@ import io.spine.code.proto.FileDescriptors;
 import io.spine.code.proto.FileSet;
 import io.spine.code.proto.TypeSet;
 import io.spine.js.generate.TaskId;
+import io.spine.js.generate.TaskType;
 import io.spine.option.OptionsProto;
 import io.spine.tools.code.SourceSetName;
 import io.spine.tools.fs.SourceDir;
 import io.spine.tools.js.code.TypeName;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.code.BytesDecoder;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.given.Given;
 import io.spine.tools.mc.js.code.given.GivenProject;
 import io.spine.tools.mc.js.code.text.Comment;
+import io.spine.tools.mc.js.code.text.EnumTable;
 import io.spine.tools.mc.js.code.text.Import;
+import io.spine.tools.mc.js.code.text.Let;
 import io.spine.type.MessageType;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -58,6 +64,7 @@ import static io.spine.tools.mc.js.code.text.Parser.OBJECT_PARSER_FILE;
 import static io.spine.tools.mc.js.code.text.Parser.OBJECT_PARSER_IMPORT_NAME;
 import static io.spine.tools.mc.js.code.text.Parser.TYPE_PARSERS_FILE;
 import static io.spine.tools.mc.js.code.text.Parser.TYPE_PARSERS_IMPORT_NAME;
+import static io.spine.tools.mc.js.code.text.Parser.cachedParserVariable;
 
 @DisplayName("`CreateParsers` should")
 class CreateParsersTest {
@@ -81,6 +88,8 @@ class CreateParsersTest {
     void passNullToleranceCheck() {
         new NullPointerTester().setDefault(SourceDir.class, generatedProtoDir)
                                .setDefault(FileSet.class, fileSet)
+                               .setDefault(GenerationOptions.class,
+                                           GenerationOptions.defaults())
                                .testAllPublicStaticMethods(CreateParsers.class);
     }
 
@@ -110,6 +119,59 @@ class CreateParsersTest {
         assertContains(code, typeParsersImport);
     }
 
+    @Test
+    @DisplayName("declare the bytes decoder once per file")
+    void declareBytesDecoderOnce() {
+        var code = CreateParsers.codeFor(Given.file());
+        var base64Import = "let base64 = require('base64-js');";
+        var declarations = code.codeLines()
+                               .stream()
+                               .filter(base64Import::equals)
+                               .count();
+        assertThat(declarations).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("declare the configured bytes decoder")
+    void declareConfiguredDecoder() {
+        var options = GenerationOptions.newBuilder()
+                .withBytesDecoder(BytesDecoder.BROWSER)
+                .build();
+        var code = CreateParsers.codeFor(Given.file(), options);
+        assertContains(code, "let decodeBase64 = ");
+        assertContains(code, "decodeBase64(");
+        assertThat(code.toString()).doesNotContain("base64-js");
+    }
+
+    @Test
+    @DisplayName("not declare the bytes decoder if no `bytes` fields are parsed")
+    void notDeclareUnusedDecoder() {
+        var code = CreateParsers.codeFor(file);
+        assertThat(code.toString()).doesNotContain("base64-js");
+    }
+
+    @Test
+    @DisplayName("declare the variables caching the parsers of nested messages once per file")
+    void declareCachedParsers() {
+        var code = CreateParsers.codeFor(Given.file());
+        var taskIdParser = cachedParserVariable(TaskId.getDescriptor());
+        var declaration = Let.uninitialized(taskIdParser)
+                             .text();
+        var declarations = code.codeLines()
+                               .stream()
+                               .filter(declaration::equals)
+                               .count();
+        assertThat(declarations).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("declare the lookup tables of the parsed enums")
+    void declareEnumTables() {
+        var code = CreateParsers.codeFor(Given.file());
+        var table = new EnumTable(TaskType.getDescriptor()).text();
+        assertThat(code.toString()).contains(table);
+    }
+
     @Test
     @DisplayName("write code for parsing")
     void writeParsingCode() throws IOException {
@@ -26,6 +26,8 @@
 
 package io.spine.tools.mc.js.code.index;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import io.spine.code.fs.SourceCodeDirectory;
 import io.spine.code.proto.FileSet;
@@ -39,6 +41,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.code.SourceSetName.main;
 import static io.spine.tools.js.fs.LibraryFile.INDEX;
 import static io.spine.tools.mc.js.code.given.Generators.assertContains;
@@ -78,4 +81,25 @@ class GenerateIndexFileTest {
             assertContains(generatedCode, fileImport);
         }
     }
+
+    @Test
+    @DisplayName("sort imports by the file paths")
+    void sortImports() {
+        var generatedCode = GenerateIndexFile.codeFor(fileSet);
+        var imports = generatedCode.codeLines()
+                                   .stream()
+                                   .filter(line -> line.startsWith("require("))
+                                   .collect(ImmutableList.toImmutableList());
+        assertThat(imports).isInOrder();
+    }
+
+    @Test
+    @DisplayName("generate the same code regardless of the order of files")
+    void beDeterministic() {
+        var files = ImmutableList.copyOf(fileSet.files())
+                                 .reverse();
+        var reversed = FileSet.of(ImmutableSet.copyOf(files));
+        assertThat(GenerateIndexFile.codeFor(reversed))
+                .isEqualTo(GenerateIndexFile.codeFor(fileSet));
+    }
 }
@@ -41,9 +41,13 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.code.SourceSetName.main;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -121,6 +125,23 @@ class CodeGenStepTest {
         assertTrue(task.areFilesFiltered());
     }
 
+    @Test
+    @DisplayName("process each file once when processing files concurrently")
+    void processConcurrently() {
+        var executor = Executors.newFixedThreadPool(4);
+        task.setExecutor(executor);
+        var files = IntStream.range(0, 16)
+                             .boxed()
+                             .collect(toList());
+        var processed = ConcurrentHashMap.<Integer>newKeySet();
+        try {
+            task.processEach(files, file -> assertTrue(processed.add(file)));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(processed).containsExactlyElementsIn(files);
+    }
+
     private static void assertPerformed(TestCodeGenStep task, FileSet fileSet) {
         assertPerformed(task, fileSet, true);
     }
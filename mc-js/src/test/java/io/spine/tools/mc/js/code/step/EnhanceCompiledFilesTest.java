@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.step;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.code.proto.FileSet;
+import io.spine.js.generate.TaskProto;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.Generated;
+import io.spine.tools.js.fs.DefaultJsPaths;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.index.CreateParsers;
+import io.spine.tools.mc.js.fs.DirectorySnapshot;
+import io.spine.tools.mc.js.fs.FileWrites;
+import io.spine.tools.mc.js.fs.ImportCache;
+import io.spine.tools.mc.js.fs.ImportResolution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.code.SourceSetName.main;
+import static io.spine.tools.fs.ExternalModule.spineWeb;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`EnhanceCompiledFiles` should")
+class EnhanceCompiledFilesTest {
+
+    private static final FileSet FILES = FileSet.of(ImmutableSet.of(TaskProto.getDescriptor()));
+    private static final ExternalModules MODULES = new ExternalModules(spineWeb());
+    private static final String COMPILED_CODE =
+            "var jspb = require('google-protobuf');\n" +
+            "var spine_options_pb = require('../../spine/options_pb.js');\n" +
+            "goog.object.extend(exports, proto.spine.test.js);\n";
+
+    @Test
+    @DisplayName("produce the same code as the sequence of code generation steps")
+    void sameAsSequentialSteps(@TempDir Path sequentialDir,
+                               @TempDir Path singlePassDir) throws IOException {
+        var sequentialFile = compiledFileIn(sequentialDir);
+        var generated = DefaultJsPaths.at(sequentialDir).generated();
+        var jsCodeRoot = generated.dir(main);
+        new CreateParsers(jsCodeRoot).performFor(FILES);
+        new AppendTypeUrlGetter(jsCodeRoot).performFor(FILES);
+        ResolveImports.newBuilder(generated, main, MODULES)
+                      .build()
+                      .performFor(FILES);
+
+        var singlePassFile = compiledFileIn(singlePassDir);
+        var singlePassGenerated = DefaultJsPaths.at(singlePassDir).generated();
+        new EnhanceCompiledFiles(singlePassGenerated, main, MODULES).performFor(FILES);
+
+        assertThat(Files.readAllLines(singlePassFile))
+                .containsExactlyElementsIn(Files.readAllLines(sequentialFile))
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("produce the same code as the steps resolving imports on the way")
+    void sameAsStepsResolvingImports(@TempDir Path sequentialDir,
+                                     @TempDir Path singlePassDir) throws IOException {
+        var sequentialFile = compiledFileIn(sequentialDir);
+        var generated = DefaultJsPaths.at(sequentialDir).generated();
+        runStepsResolvingImports(generated);
+
+        var singlePassFile = compiledFileIn(singlePassDir);
+        var singlePassGenerated = DefaultJsPaths.at(singlePassDir).generated();
+        new EnhanceCompiledFiles(singlePassGenerated, main, MODULES).performFor(FILES);
+
+        assertThat(Files.readAllLines(sequentialFile))
+                .containsExactlyElementsIn(Files.readAllLines(singlePassFile))
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("let the steps resolving imports on the way skip the unchanged files")
+    void skipUnchangedWithResolvedImports(@TempDir Path projectDir) throws IOException {
+        compiledFileIn(projectDir);
+        var generated = DefaultJsPaths.at(projectDir).generated();
+        runStepsResolvingImports(generated);
+        var secondRun = runStepsResolvingImports(generated);
+        assertThat(secondRun.written()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("replace the previously generated code when run again")
+    void replaceGeneratedCode(@TempDir Path projectDir) throws IOException {
+        var file = compiledFileIn(projectDir);
+        var generated = DefaultJsPaths.at(projectDir).generated();
+        var step = new EnhanceCompiledFiles(generated, main, MODULES);
+        step.performFor(FILES);
+        var firstRun = Files.readAllLines(file);
+
+        new EnhanceCompiledFiles(generated, main, MODULES).performFor(FILES);
+
+        assertThat(Files.readAllLines(file))
+                .containsExactlyElementsIn(firstRun)
+                .inOrder();
+    }
+
+    private static FileWrites runStepsResolvingImports(Generated generated) {
+        var jsCodeRoot = generated.dir(main);
+        var importResolution = ImportResolution.among(generated, MODULES, new ImportCache());
+        var options = GenerationOptions.defaults();
+        var snapshot = DirectorySnapshot.none();
+        var parsers = new CreateParsers(jsCodeRoot, options, snapshot);
+        parsers.performFor(FILES);
+        var typeUrlGetters =
+                new AppendTypeUrlGetter(jsCodeRoot, options, snapshot, importResolution);
+        typeUrlGetters.performFor(FILES);
+        return new FileWrites().add(parsers.writes())
+                               .add(typeUrlGetters.writes());
+    }
+
+    private static Path compiledFileIn(Path projectDir) throws IOException {
+        var jsCodeRoot = DefaultJsPaths.at(projectDir).generated().dir(main);
+        var file = JsFiles.resolve(jsCodeRoot, FileName.from(TaskProto.getDescriptor()));
+        Files.createDirectories(file.getParent());
+        Files.write(file, COMPILED_CODE.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -87,7 +87,8 @@ class ResolveImportsTest {
     @DisplayName("not clash Spine Web and Spine Users modules")
     void notClashUsersWithWeb() throws IOException {
         var modules = new ExternalModules(spineWeb(), spineUsers());
-        var task = new ResolveImports(generatedDir, SourceSetName.main, modules);
+        var task = ResolveImports.newBuilder(generatedDir, SourceSetName.main, modules)
+                                 .build();
         writeFile(jsFile, "require('../../spine/users/identifiers_pb.js');");
         afterResolve(jsFile, task)
                 .containsExactly("require('spine-users/spine/users/identifiers_pb.js');");
@@ -166,6 +167,8 @@ class ResolveImportsTest {
     }
 
     private static ResolveImports newTask(ExternalModule module) {
-        return new ResolveImports(generatedDir, SourceSetName.main, new ExternalModules(module));
+        var modules = new ExternalModules(module);
+        return ResolveImports.newBuilder(generatedDir, SourceSetName.main, modules)
+                             .build();
     }
 }
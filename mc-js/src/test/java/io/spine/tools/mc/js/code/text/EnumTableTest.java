@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.text;
+
+import io.spine.js.generate.TaskType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.js.code.given.Generators.assertContains;
+
+@DisplayName("`EnumTable` should")
+class EnumTableTest {
+
+    private final EnumTable table = new EnumTable(TaskType.getDescriptor());
+
+    @Test
+    @DisplayName("declare a frozen table with no prototype")
+    void declareFrozenTable() {
+        var variable = EnumTable.variableName(TaskType.getDescriptor());
+        assertContains(table.writer(), "let " + variable
+                + " = Object.freeze(Object.assign(Object.create(null), {");
+    }
+
+    @Test
+    @DisplayName("map the names and the numbers of the enum values to the numbers")
+    void mapNamesAndNumbers() {
+        var writer = table.writer();
+        for (var value : TaskType.getDescriptor().getValues()) {
+            assertContains(writer, "'" + value.getName() + "': " + value.getNumber());
+            assertContains(writer, "'" + value.getNumber() + "': " + value.getNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("derive the variable name from the full name of the enum")
+    void deriveVariableName() {
+        var variable = EnumTable.variableName(TaskType.getDescriptor());
+        assertThat(variable)
+                .isEqualTo("enum$spine$test$js$TaskType");
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.code.text;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.PARSERS;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.TYPE_URLS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`GeneratedSection` should")
+class GeneratedSectionTest {
+
+    private static final String COMPILED = "goog.provide('proto.spine.Task');";
+    private static final String TRAILING = "exports.foo = 42;";
+
+    @Test
+    @DisplayName("add the section to the end of the file")
+    void addSection() throws IOException {
+        var lines = put(ImmutableList.of(COMPILED), ImmutableMap.of(PARSERS, code("parse();")));
+        assertThat(lines)
+                .containsExactly(COMPILED, PARSERS.begin().text(), "parse();", PARSERS.end().text())
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("replace the existing section in place")
+    void replaceSection() throws IOException {
+        var original = ImmutableList.of(COMPILED,
+                                        PARSERS.begin().text(),
+                                        "parseOld();",
+                                        PARSERS.end().text(),
+                                        TRAILING);
+        var lines = put(original, ImmutableMap.of(PARSERS, code("parseNew();")));
+        assertThat(lines)
+                .containsExactly(COMPILED,
+                                 PARSERS.begin().text(),
+                                 "parseNew();",
+                                 PARSERS.end().text(),
+                                 TRAILING)
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("add several sections in the order of declaration")
+    void addSeveral() throws IOException {
+        var lines = put(ImmutableList.of(COMPILED),
+                        ImmutableMap.of(TYPE_URLS, code("typeUrl();"),
+                                        PARSERS, code("parse();")));
+        assertThat(lines)
+                .containsExactly(COMPILED,
+                                 PARSERS.begin().text(), "parse();", PARSERS.end().text(),
+                                 TYPE_URLS.begin().text(), "typeUrl();", TYPE_URLS.end().text())
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("not touch other sections")
+    void keepOtherSections() throws IOException {
+        var withTypeUrls = put(ImmutableList.of(COMPILED),
+                               ImmutableMap.of(TYPE_URLS, code("typeUrl();")));
+        var lines = put(withTypeUrls, ImmutableMap.of(PARSERS, code("parse();")));
+        assertThat(lines).containsAtLeastElementsIn(withTypeUrls).inOrder();
+    }
+
+    @Test
+    @DisplayName("remove the section if the code is empty")
+    void removeEmpty() throws IOException {
+        var withParsers = put(ImmutableList.of(COMPILED),
+                              ImmutableMap.of(PARSERS, code("parse();")));
+        var lines = put(withParsers, ImmutableMap.of(PARSERS, new CodeWriter()));
+        assertThat(lines).containsExactly(COMPILED);
+    }
+
+    @Test
+    @DisplayName("write each line of the code")
+    void writeLines() throws IOException {
+        var code = code("parse();").append("validate();");
+        var lines = put(ImmutableList.of(COMPILED), ImmutableMap.of(PARSERS, code));
+        assertThat(lines)
+                .containsExactly(COMPILED,
+                                 PARSERS.begin().text(),
+                                 "parse();",
+                                 "validate();",
+                                 PARSERS.end().text())
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("transform each written line")
+    void transformLines() throws IOException {
+        var lines = put(ImmutableList.of(COMPILED),
+                        ImmutableMap.of(PARSERS, code("parse();")),
+                        line -> line.replace("parse", "read"));
+        assertThat(lines).contains("read();");
+        assertThat(lines).doesNotContain("parse();");
+    }
+
+    @Test
+    @DisplayName("throw if the section is not closed")
+    void throwOnUnclosed() {
+        var lines = ImmutableList.of(COMPILED, PARSERS.begin().text(), "parse();");
+        assertThrows(IllegalStateException.class,
+                     () -> put(lines, ImmutableMap.of(PARSERS, code("parse();"))));
+    }
+
+    private static List<String> put(List<String> fileLines,
+                                    Map<GeneratedSection, CodeWriter> sections)
+            throws IOException {
+        return put(fileLines, sections, UnaryOperator.identity());
+    }
+
+    private static List<String> put(List<String> fileLines,
+                                    Map<GeneratedSection, CodeWriter> sections,
+                                    UnaryOperator<String> transformation) throws IOException {
+        var file = new BufferedReader(new StringReader(String.join("\n", fileLines)));
+        var output = new StringBuilder();
+        GeneratedSection.putAll(file, output, sections, GenerationOptions.defaults(),
+                                transformation);
+        return Splitter.on('\n')
+                       .omitEmptyStrings()
+                       .splitToList(output);
+    }
+
+    private static CodeWriter code(String line) {
+        return new CodeWriter().append(line);
+    }
+}
@@ -52,4 +52,12 @@ class LetTest {
         assertThat(line.text())
                 .isEqualTo("let anyValue = new proto.google.protobuf.Any();");
     }
+
+    @Test
+    @DisplayName("be declared without a value")
+    void uninitialized() {
+        var line = Let.uninitialized("someVariable");
+        assertThat(line.text())
+                .isEqualTo("let someVariable;");
+    }
 }
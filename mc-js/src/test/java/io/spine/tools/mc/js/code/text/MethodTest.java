@@ -31,8 +31,8 @@ import com.google.common.truth.Truth;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static io.spine.tools.mc.js.code.CodeWriter.lineSeparator;
 import static io.spine.tools.mc.js.code.given.GivenMethod.methodReference;
-import static java.lang.System.lineSeparator;
 
 @DisplayName("`Method` should")
 class MethodTest {
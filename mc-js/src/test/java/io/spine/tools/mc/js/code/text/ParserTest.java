@@ -31,14 +31,15 @@ import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import io.spine.tools.js.code.TypeName;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.js.code.CodeWriter.lineSeparator;
 import static io.spine.tools.mc.js.code.given.Generators.assertContains;
 import static io.spine.tools.mc.js.code.text.Parser.FROM_OBJECT_ARG;
 import static io.spine.tools.mc.js.code.text.Parser.PARSE_METHOD;
-import static java.lang.System.lineSeparator;
 
 @DisplayName("`Parser` should")
 class ParserTest {
@@ -72,6 +73,27 @@ class ParserTest {
         }
     }
 
+    @Test
+    @DisplayName("check each field of a message with few fields")
+    void checkEachField() {
+        var lines = parser.fromObjectMethod();
+        assertThat(lines.toString()).doesNotContain("Object.keys(");
+    }
+
+    @Test
+    @DisplayName("iterate the keys of the object for a message with many fields")
+    void iteratePresentKeys() {
+        var options = GenerationOptions.newBuilder()
+                .withKeyDispatchThreshold(1)
+                .build();
+        var lines = new Parser(message, options).fromObjectMethod();
+        assertContains(lines, "let keys = Object.keys(" + FROM_OBJECT_ARG + ");");
+        assertContains(lines, "switch (keys[keyIndex]) {");
+        for (var field : message.getFields()) {
+            assertContains(lines, "case '" + field.getJsonName() + "': {");
+        }
+    }
+
     @Test
     @DisplayName("generate whole snippet")
     void generateWholeSnippet() {
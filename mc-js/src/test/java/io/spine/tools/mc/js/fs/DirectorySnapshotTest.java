@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`DirectorySnapshot` should")
+class DirectorySnapshotTest {
+
+    @Test
+    @DisplayName("tell which files exist under the root directory")
+    void knowFilesUnderRoot(@TempDir Path tempDir) throws IOException {
+        var root = tempDir.resolve("js");
+        var file = root.resolve("spine/task_pb.js");
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+
+        var snapshot = DirectorySnapshot.of(root);
+
+        assertThat(snapshot.exists(file)).isTrue();
+        assertThat(snapshot.exists(root.resolve("spine/../spine/task_pb.js"))).isTrue();
+        assertThat(snapshot.exists(file.getParent())).isTrue();
+        assertThat(snapshot.exists(root.resolve("spine/missing_pb.js"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("not reflect the changes made after the snapshot is taken")
+    void beImmutable(@TempDir Path tempDir) throws IOException {
+        var snapshot = DirectorySnapshot.of(tempDir);
+        var file = Files.createFile(tempDir.resolve("task_pb.js"));
+        assertThat(snapshot.exists(file)).isFalse();
+    }
+
+    @Test
+    @DisplayName("check the paths outside of the root directory on the file system")
+    void checkOtherPaths(@TempDir Path tempDir) throws IOException {
+        var root = Files.createDirectory(tempDir.resolve("js"));
+        var snapshot = DirectorySnapshot.of(root);
+        var outside = Files.createFile(tempDir.resolve("index.js"));
+        assertThat(snapshot.exists(outside)).isTrue();
+    }
+
+    @Test
+    @DisplayName("check the paths leading out of a copy against the original directory")
+    void relocatePathsOutOfCopy(@TempDir Path tempDir) throws IOException {
+        var original = Files.createDirectories(tempDir.resolve("project/proto"));
+        var copy = Files.createDirectories(tempDir.resolve("build/proto"));
+        var root = Files.createDirectory(copy.resolve("js"));
+        var parser = tempDir.resolve("project/client/object-parser.js");
+        Files.createDirectories(parser.getParent());
+        Files.createFile(parser);
+        var sibling = Files.createFile(copy.resolve("index.js"));
+
+        var snapshot = DirectorySnapshot.of(root)
+                                        .asCopyOf(copy, original);
+
+        assertThat(snapshot.exists(copy.resolve("../client/object-parser.js"))).isTrue();
+        assertThat(snapshot.exists(sibling)).isTrue();
+        assertThat(snapshot.exists(root.resolve("task_pb.js"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("tell that nothing exists under a missing root directory")
+    void handleMissingRoot(@TempDir Path tempDir) {
+        var root = tempDir.resolve("missing");
+        var snapshot = DirectorySnapshot.of(root);
+        assertThat(snapshot.exists(root.resolve("task_pb.js"))).isFalse();
+    }
+}
@@ -26,12 +26,14 @@
 
 package io.spine.tools.mc.js.fs;
 
+import com.google.common.collect.ImmutableMap;
 import io.spine.js.generate.TaskProto;
 import io.spine.tools.code.SourceSetName;
 import io.spine.tools.js.fs.DefaultJsPaths;
 import io.spine.tools.js.fs.FileName;
 import io.spine.tools.js.fs.JsFiles;
 import io.spine.tools.mc.js.code.CodeWriter;
+import io.spine.tools.mc.js.code.GenerationOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,9 +42,13 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.mc.js.code.given.FileWriters.assertFileContains;
 import static io.spine.tools.mc.js.code.given.FileWriters.assertFileNotContains;
+import static io.spine.tools.mc.js.code.text.GeneratedSection.PARSERS;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @DisplayName("`FileWriter` should")
 class FileWriterTest {
@@ -86,6 +92,7 @@ class FileWriterTest {
 
     @Test
     @DisplayName("append code lines to existing file")
+    @SuppressWarnings("deprecation") // Checks the deprecated method still works.
     void appendToFile() throws IOException {
         var line1 = generateCode(CREATE_TASK_1);
         writer.write(line1);
@@ -97,6 +104,87 @@ class FileWriterTest {
         assertFileContains(filePath, CREATE_TASK_2);
     }
 
+    @Test
+    @DisplayName("put code into a generated section of existing file")
+    void putSection() throws IOException {
+        writer.write(generateCode(CREATE_TASK_1));
+
+        var written = writer.writeSections(ImmutableMap.of(PARSERS, generateCode(CREATE_TASK_2)));
+
+        assertThat(written).isTrue();
+        var content = new String(Files.readAllBytes(filePath), UTF_8);
+        assertThat(content).isEqualTo(CREATE_TASK_1 + '\n'
+                                              + PARSERS.begin().text() + '\n'
+                                              + CREATE_TASK_2 + '\n'
+                                              + PARSERS.end().text() + '\n');
+    }
+
+    @Test
+    @DisplayName("transform the lines of the file with the generated section")
+    void transformLines() throws IOException {
+        writer.write(generateCode(CREATE_TASK_1));
+
+        writer.writeSections(ImmutableMap.of(PARSERS, generateCode(CREATE_TASK_2)),
+                             line -> line.replace("Task", "Project"));
+
+        assertFileContains(filePath, "createProject1();");
+        assertFileContains(filePath, "createProject2();");
+        assertFileNotContains(filePath, CREATE_TASK_1);
+        assertThat(Files.exists(filePath.resolveSibling(filePath.getFileName() + ".tmp")))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("not rewrite the file with the same generated section")
+    void skipUnchangedSection() throws IOException {
+        writer.write(generateCode(CREATE_TASK_1));
+        var sections = ImmutableMap.of(PARSERS, generateCode(CREATE_TASK_2));
+        assertThat(writer.writeSections(sections)).isTrue();
+        var modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(filePath, modified);
+
+        assertThat(writer.writeSections(sections)).isFalse();
+        assertThat(Files.getLastModifiedTime(filePath)).isEqualTo(modified);
+    }
+
+    @Test
+    @DisplayName("terminate lines with the configured separator")
+    void useLineSeparator() throws IOException {
+        var options = GenerationOptions.newBuilder()
+                .withLineSeparator("\r\n")
+                .build();
+        var crlfWriter = FileWriter.newInstance(filePath, options);
+        var code = generateCode(CREATE_TASK_1).append(CREATE_TASK_2);
+        crlfWriter.write(code);
+
+        var content = new String(Files.readAllBytes(filePath), UTF_8);
+        assertThat(content).isEqualTo(CREATE_TASK_1 + "\r\n" + CREATE_TASK_2 + "\r\n");
+    }
+
+    @Test
+    @DisplayName("use the line feed as the default line separator")
+    void useLineFeedByDefault() throws IOException {
+        writer.write(generateCode(CREATE_TASK_1));
+
+        var content = new String(Files.readAllBytes(filePath), UTF_8);
+        assertThat(content).isEqualTo(CREATE_TASK_1 + '\n');
+    }
+
+    @Test
+    @DisplayName("not rewrite the file with the same content")
+    void skipUnchanged() throws IOException {
+        var code = generateCode(CREATE_TASK_1);
+        assertThat(writer.write(code)).isTrue();
+        var modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(filePath, modified);
+
+        assertThat(writer.write(code)).isFalse();
+        assertThat(Files.getLastModifiedTime(filePath)).isEqualTo(modified);
+
+        assertThat(writer.write(generateCode(CREATE_TASK_2))).isTrue();
+        assertThat(Files.getLastModifiedTime(filePath)).isNotEqualTo(modified);
+    }
+
     private static CodeWriter generateCode(String codeLine) {
         var jsOutput = new CodeWriter();
         jsOutput.append(codeLine);
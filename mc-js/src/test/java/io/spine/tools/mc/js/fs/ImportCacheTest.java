@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.tools.fs.ExternalModules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ImportCache` should")
+class ImportCacheTest {
+
+    private static final String PROTOBUF_IMPORT =
+            "let any = require('google-protobuf/google/protobuf/any_pb.js');";
+    private static final String RESOLVED_PROTOBUF_IMPORT =
+            "let any = require('../google/protobuf/any_pb.js');";
+
+    private static final ExternalModules MODULES = new ExternalModules(
+            ImmutableMap.of("client", ImmutableList.of("company/client"))
+    );
+
+    private Path generatedRoot;
+    private Path packageDir;
+    private ImportCache cache;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        generatedRoot = tempDir;
+        packageDir = Files.createDirectory(tempDir.resolve("company"));
+        cache = new ImportCache();
+    }
+
+    @Test
+    @DisplayName("reuse an import resolved for another file")
+    void reuseResolvedImport() {
+        var first = new JsFile(packageDir.resolve("first.js"), DirectorySnapshot.none(), cache);
+        var second = new JsFile(packageDir.resolve("second.js"), DirectorySnapshot.none(), cache);
+
+        var firstLine = first.importResolution(generatedRoot, MODULES)
+                             .apply(PROTOBUF_IMPORT);
+        var secondLine = second.importResolution(generatedRoot, MODULES)
+                               .apply(PROTOBUF_IMPORT);
+
+        assertThat(firstLine).isEqualTo(RESOLVED_PROTOBUF_IMPORT);
+        assertThat(secondLine).isEqualTo(RESOLVED_PROTOBUF_IMPORT);
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("resolve imports of the same reference from different directories separately")
+    void distinguishDirectories() throws IOException {
+        var nestedDir = Files.createDirectory(packageDir.resolve("nested"));
+        var file = new JsFile(packageDir.resolve("file.js"), DirectorySnapshot.none(), cache);
+        var nestedFile = new JsFile(nestedDir.resolve("file.js"), DirectorySnapshot.none(), cache);
+
+        file.importResolution(generatedRoot, MODULES)
+            .apply(PROTOBUF_IMPORT);
+        var nestedLine = nestedFile.importResolution(generatedRoot, MODULES)
+                                   .apply(PROTOBUF_IMPORT);
+
+        assertThat(nestedLine)
+                .isEqualTo("let any = require('../../google/protobuf/any_pb.js');");
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.hits()).isEqualTo(0);
+    }
+}
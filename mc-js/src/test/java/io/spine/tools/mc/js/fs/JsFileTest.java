@@ -26,6 +26,9 @@
 
 package io.spine.tools.mc.js.fs;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.tools.fs.ExternalModules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,14 +38,20 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.Assertions.assertIllegalArgument;
 import static io.spine.testing.TestValues.randomString;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @DisplayName("`JsFile` should")
 class JsFileTest {
 
+    private static final ExternalModules MODULES = new ExternalModules(
+            ImmutableMap.of("client", ImmutableList.of("company/client"))
+    );
+
     private File tempDir;
 
     private String fileName;
@@ -91,4 +100,54 @@ class JsFileTest {
 
         assertIllegalArgument(() -> new JsFile(path));
     }
+
+    @Test
+    @DisplayName("rewrite only the changed imports")
+    void rewriteChangedImports() throws IOException {
+        var content = "// Comment.\r\n"
+                + "var any = require('google-protobuf/google/protobuf/any_pb.js');\r\n"
+                + "var jspb = require('google-protobuf');\r\n"
+                + "proto.Foo = function() {};";
+        Files.write(path, content.getBytes(UTF_8));
+
+        var written = new JsFile(path).rewriteImports(tempDir.toPath(), MODULES);
+
+        assertThat(written).isTrue();
+        assertThat(new String(Files.readAllBytes(path), UTF_8)).isEqualTo(
+                "// Comment.\r\n"
+                        + "var any = require('./google/protobuf/any_pb.js');\r\n"
+                        + "var jspb = require('google-protobuf');\r\n"
+                        + "proto.Foo = function() {};"
+        );
+    }
+
+    @Test
+    @DisplayName("replace the file instead of writing into it")
+    void replaceFile() throws IOException {
+        var content = "var any = require('google-protobuf/google/protobuf/any_pb.js');";
+        Files.write(path, content.getBytes(UTF_8));
+        var tempFile = path.resolveSibling(path.getFileName() + FileWriter.TEMP_FILE_SUFFIX);
+
+        var written = new JsFile(path).rewriteImports(tempDir.toPath(), MODULES);
+
+        assertThat(written).isTrue();
+        assertThat(Files.exists(tempFile)).isFalse();
+        assertThat(new String(Files.readAllBytes(path), UTF_8))
+                .isEqualTo("var any = require('./google/protobuf/any_pb.js');");
+    }
+
+    @Test
+    @DisplayName("not write the file if imports do not change")
+    void notRewriteUnchangedImports() throws IOException {
+        var content = "var jspb = require('google-protobuf');\nproto.Foo = function() {};\n";
+        Files.write(path, content.getBytes(UTF_8));
+        var lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(path, lastModified);
+
+        var written = new JsFile(path).rewriteImports(tempDir.toPath(), MODULES);
+
+        assertThat(written).isFalse();
+        assertThat(Files.getLastModifiedTime(path)).isEqualTo(lastModified);
+        assertThat(new String(Files.readAllBytes(path), UTF_8)).isEqualTo(content);
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.fs;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.fs.FileReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.tools.fs.ExternalModule.predefinedModules;
+
+@DisplayName("`ModuleTrie` should")
+class ModuleTrieTest {
+
+    private static final ExternalModules MODULES = new ExternalModules(ImmutableMap.of(
+            "client", ImmutableList.of("company/client"),
+            "server", ImmutableList.of("company/server/*")
+    )).with(predefinedModules());
+
+    @Test
+    @DisplayName("find the same module as the scan of all modules")
+    void findFirstModule() {
+        var trie = ModuleTrie.of(MODULES);
+        var references = ImmutableList.of(
+                "../company/client/file.js",
+                "../company/client/nested/file.js",
+                "../../company/server/file.js",
+                "../../company/server/nested/deeper/file.js",
+                "../../spine/web/client_pb.js",
+                "./unknown/file.js",
+                "file.js"
+        );
+        for (var value : references) {
+            var reference = FileReference.of(value);
+            var expected = MODULES.asList()
+                                  .stream()
+                                  .filter(module -> module.provides(reference))
+                                  .findFirst();
+            assertThat(trie.moduleProviding(reference)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("return the same trie for the same modules")
+    void reuseTrie() {
+        assertThat(ModuleTrie.of(MODULES)).isSameInstanceAs(ModuleTrie.of(MODULES));
+    }
+}
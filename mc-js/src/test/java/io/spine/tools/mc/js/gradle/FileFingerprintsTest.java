@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.code.fs.SourceCodeDirectory;
+import io.spine.code.proto.FileSet;
+import io.spine.js.generate.TaskProto;
+import io.spine.tools.js.fs.DefaultJsPaths;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.code.SourceSetName.main;
+import static io.spine.tools.mc.js.gradle.GenerationMode.PROTOC_PLUGIN;
+import static io.spine.tools.mc.js.gradle.GenerationMode.SEQUENTIAL;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+@DisplayName("`FileFingerprints` should")
+class FileFingerprintsTest {
+
+    private static final FileSet FILES = FileSet.of(ImmutableSet.of(TaskProto.getDescriptor()));
+
+    private SourceCodeDirectory compiledRoot;
+    private SourceCodeDirectory outputRoot;
+    private Path fingerprintsFile;
+    private Path jsFile;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        compiledRoot = DefaultJsPaths.at(tempDir).generated().dir(main);
+        outputRoot = DefaultJsPaths.at(tempDir.resolve("output")).generated().dir(main);
+        fingerprintsFile = tempDir.resolve("fingerprints.txt");
+        jsFile = JsFiles.resolve(compiledRoot, FileName.from(TaskProto.getDescriptor()));
+        Files.createDirectories(jsFile.getParent());
+        Files.write(jsFile, "let task = 42;".getBytes(UTF_8));
+    }
+
+    @Test
+    @DisplayName("consider all files changed if there are no fingerprints")
+    void allChangedInitially() {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        var changed = fingerprints.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+
+    @Test
+    @DisplayName("not consider recorded files changed")
+    void recordedNotChanged() {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        var changed = fingerprints.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("consider a file changed if its JavaScript code was re-generated")
+    void jsCodeChanged() throws IOException {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        Files.write(jsFile, "let task = 43;".getBytes(UTF_8));
+        var changed = fingerprints.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+
+    @Test
+    @DisplayName("consider a file changed if its copy in the output directory was changed")
+    void outputChanged() throws IOException {
+        var outputFile = JsFiles.resolve(outputRoot, FileName.from(TaskProto.getDescriptor()));
+        Files.createDirectories(outputFile.getParent());
+        Files.write(outputFile, "let task = 42;".getBytes(UTF_8));
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        Files.delete(outputFile);
+        var changed = fingerprints.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+
+    @Test
+    @DisplayName("consider a file changed if its companion file was re-generated")
+    void companionChanged() throws IOException {
+        var companionFile = CompanionFiles.pathOf(jsFile);
+        Files.write(companionFile, "let parser = 42;".getBytes(UTF_8));
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, PROTOC_PLUGIN);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        Files.write(companionFile, "let parser = 43;".getBytes(UTF_8));
+        var changed = fingerprints.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+
+    @Test
+    @DisplayName("trust the size and the modification time of a file older than the fingerprints")
+    void trustFileStat() throws IOException {
+        var modified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(jsFile, modified);
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        fingerprints.store();
+
+        Files.write(jsFile, "let task = 43;".getBytes(UTF_8));
+        Files.setLastModifiedTime(jsFile, modified);
+        var loaded = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        var changed = loaded.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("hash a file modified not earlier than the fingerprints were stored")
+    void hashRecentlyModified() throws IOException {
+        var modified = FileTime.from(Instant.now().plus(1, DAYS));
+        Files.setLastModifiedTime(jsFile, modified);
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        fingerprints.store();
+
+        Files.write(jsFile, "let task = 43;".getBytes(UTF_8));
+        Files.setLastModifiedTime(jsFile, modified);
+        var loaded = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        var changed = loaded.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+
+    @Test
+    @DisplayName("store and load the fingerprints")
+    void storeAndLoad() {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        fingerprints.store();
+
+        var loaded = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        var changed = loaded.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("keep the fingerprints recorded with the same settings")
+    void sameSettings() {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.checkSettings("compact");
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        fingerprints.store();
+
+        var loaded = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        loaded.checkSettings("compact");
+        var changed = loaded.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("forget the fingerprints recorded with other settings")
+    void otherSettings() {
+        var fingerprints = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        fingerprints.checkSettings("compact");
+        fingerprints.record(main, FILES, FILES, compiledRoot, outputRoot);
+        fingerprints.store();
+
+        var loaded = FileFingerprints.loadFrom(fingerprintsFile, SEQUENTIAL);
+        loaded.checkSettings("verbose");
+        var changed = loaded.changedIn(main, FILES, compiledRoot, outputRoot);
+        assertThat(changed.size()).isEqualTo(FILES.size());
+    }
+}
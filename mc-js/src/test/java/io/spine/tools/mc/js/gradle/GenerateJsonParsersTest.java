@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import io.spine.code.fs.SourceCodeDirectory;
+import io.spine.js.generate.TaskProto;
+import io.spine.tools.fs.ExternalModules;
+import io.spine.tools.js.fs.DefaultJsPaths;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.js.fs.JsFiles;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.code.given.GivenProject;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import io.spine.tools.mc.js.fs.ImportResolution;
+import io.spine.tools.mc.js.protoc.McJsProtocPlugin;
+import io.spine.type.TypeUrl;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.testing.Assertions.assertIllegalArgument;
+import static io.spine.tools.code.SourceSetName.main;
+import static io.spine.tools.gradle.task.BaseTaskName.build;
+import static io.spine.tools.mc.js.code.text.Parser.OBJECT_PARSER_FILE;
+import static io.spine.tools.mc.js.gradle.McJsTaskName.generateJsonParsers;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("`GenerateJsonParsers` should")
+class GenerateJsonParsersTest {
+
+    private static final GivenProject compiledProject =
+            GivenProject.serving(GenerateJsonParsersTest.class);
+
+    private GenerateJsonParsers task;
+    private SourceCodeDirectory outputRoot;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        var project = ProjectBuilder.builder()
+                .withProjectDir(compiledProject.projectDir())
+                .build();
+        project.task(build.name());
+        var plugins = project.getPluginManager();
+        plugins.apply("java");
+        plugins.apply(McJsPlugin.class);
+        task = (GenerateJsonParsers) project.getTasks()
+                                            .getByName(generateJsonParsers.name());
+        task.getFingerprintsFile()
+            .set(tempDir.resolve("fingerprints.txt").toFile());
+        var outputDir = tempDir.resolve("output");
+        task.getOutputDirectory()
+            .set(outputDir.toFile());
+        outputRoot = DefaultJsPaths.at(outputDir).generated().dir(main);
+    }
+
+    @Test
+    @DisplayName("enhance the copies of the compiled files and keep the compiled files intact")
+    void enhanceCopies() throws IOException {
+        var fileName = FileName.from(TaskProto.getDescriptor());
+        var compiledFile = JsFiles.resolve(compiledProject.generatedMainJsSources(), fileName);
+        var compiledCode = Files.readString(compiledFile);
+        task.generateCode();
+        assertThat(Files.readString(compiledFile))
+                .isEqualTo(compiledCode);
+        var typeUrl = TypeUrl.from(TaskProto.getDescriptor().getMessageTypes().get(0));
+        assertThat(Files.readString(JsFiles.resolve(outputRoot, fileName)))
+                .contains(typeUrl.value());
+    }
+
+    @Test
+    @DisplayName("process only the changed files when executed again")
+    void processChangedFiles() {
+        var firstRun = task.generateCode();
+        var secondRun = task.generateCode();
+        assertThat(secondRun.written())
+                .isEqualTo(0);
+        assertThat(secondRun.skipped())
+                .isLessThan(firstRun.written() + firstRun.skipped());
+    }
+
+    @Test
+    @DisplayName("resolve imports in the companion files re-generated by `protoc`")
+    void resolveInRegeneratedCompanions() throws IOException {
+        assumeFalse(McJsProtocPlugin.importsParsersFrom(modules()),
+                    "The plugin imports the parsers from the modules itself.");
+        task.getProtocPlugin()
+            .set(true);
+        var file = compiledProject.mainFileSet()
+                                  .files()
+                                  .stream()
+                                  .filter(f -> "task.proto".equals(f.getName()))
+                                  .findFirst()
+                                  .orElseThrow();
+        var fileName = FileName.from(file);
+        var jsFile = JsFiles.resolve(compiledProject.generatedMainJsSources(), fileName);
+        var companionFile = CompanionFiles.pathOf(jsFile);
+        var unresolvedPath = fileName.pathToRoot() + OBJECT_PARSER_FILE;
+        var pluginOutput = "let ObjectParser = require('" + unresolvedPath + "');";
+        try {
+            Files.writeString(companionFile, pluginOutput);
+            task.generateCode();
+            task.generateCode();
+            Files.writeString(companionFile, pluginOutput);
+            task.generateCode();
+            var companionCopy = CompanionFiles.pathOf(JsFiles.resolve(outputRoot, fileName));
+            assertThat(Files.readString(companionCopy))
+                    .doesNotContain(unresolvedPath);
+        } finally {
+            Files.deleteIfExists(companionFile);
+        }
+    }
+
+    @Test
+    @DisplayName("not rewrite the companion files importing the parsers from the modules")
+    void skipResolvedCompanions() throws IOException {
+        assumeTrue(McJsProtocPlugin.importsParsersFrom(modules()),
+                   "No module provides the parsers.");
+        task.getProtocPlugin()
+            .set(true);
+        var fileName = FileName.from(TaskProto.getDescriptor());
+        var jsFile = JsFiles.resolve(compiledProject.generatedMainJsSources(), fileName);
+        var companionFile = CompanionFiles.pathOf(jsFile);
+        var objectParser = ImportResolution.inModule(OBJECT_PARSER_FILE, modules())
+                                           .orElseThrow();
+        var pluginOutput = "let ObjectParser = require('" + objectParser + "');";
+        try {
+            Files.writeString(companionFile, pluginOutput);
+            task.generateCode();
+            var companionCopy = CompanionFiles.pathOf(JsFiles.resolve(outputRoot, fileName));
+            assertThat(Files.readString(companionCopy))
+                    .isEqualTo(pluginOutput);
+        } finally {
+            Files.deleteIfExists(companionFile);
+        }
+    }
+
+    @Test
+    @DisplayName("process all the files again if the generation settings change")
+    void processAllOnSettingsChange() {
+        var firstRun = task.generateCode();
+        var compact = GenerationOptions.newBuilder()
+                .withCompact(true)
+                .build();
+        task.getGenerationOptions()
+            .set(compact);
+        var secondRun = task.generateCode();
+        assertThat(secondRun.written() + secondRun.skipped())
+                .isEqualTo(firstRun.written() + firstRun.skipped());
+    }
+
+    @Test
+    @DisplayName("reject non-positive generation concurrency")
+    void rejectNonPositiveConcurrency() {
+        assertIllegalArgument(() -> GenerateJsonParsers.newExecutor(0));
+    }
+
+    private ExternalModules modules() {
+        return McJsOptions.combinedModules(task.getModules().get());
+    }
+}
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.tools.gradle.task.BaseTaskName.build;
 import static io.spine.tools.mc.js.gradle.McJsTaskName.generateJsonParsers;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -60,4 +61,33 @@ class McJsPluginTest {
         var task = tasks.findByName(generateJsonParsers.name());
         assertNotNull(task);
     }
+
+    @Test
+    @DisplayName("make the `build` task depend on the code generation task")
+    void insertBeforeBuild() {
+        project.getPluginManager()
+               .apply(McJsPlugin.class);
+        var tasks = project.getTasks();
+        var task = tasks.getByName(generateJsonParsers.name());
+        var buildTask = tasks.getByName(build.name());
+        assertThat(buildTask.getTaskDependencies()
+                            .getDependencies(buildTask))
+                .contains(task);
+    }
+
+    @Test
+    @DisplayName("configure the code generation task without referring to the project at execution")
+    void configureTaskProperties() {
+        project.getPluginManager()
+               .apply(McJsPlugin.class);
+        var task = (GenerateJsonParsers) project.getTasks()
+                                                .getByName(generateJsonParsers.name());
+        assertThat(task.getProjectDirectory()
+                       .getAsFile()
+                       .get())
+                .isEqualTo(project.getProjectDir());
+        assertThat(task.getModules()
+                       .isPresent())
+                .isTrue();
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.gradle;
+
+import com.google.protobuf.gradle.GenerateProtoTask;
+import io.spine.testing.TempDir;
+import io.spine.tools.mc.js.protoc.McJsProtocPlugin;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.gradle.task.BaseTaskName.build;
+import static io.spine.tools.mc.js.gradle.ProtocConfig.PLUGIN_NAME;
+
+@DisplayName("`ProtocConfig` should")
+class ProtocConfigTest {
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        var tempDir = TempDir.forClass(getClass());
+        project = ProjectBuilder.builder()
+                .withProjectDir(tempDir)
+                .build();
+        project.task(build.name());
+        var plugins = project.getPluginManager();
+        plugins.apply("java");
+        plugins.apply("com.google.protobuf");
+        plugins.apply(McJsPlugin.class);
+    }
+
+    @Test
+    @DisplayName("not add the `protoc` plugin by default")
+    void notAddPluginByDefault() {
+        evaluate();
+        for (var task : generateProtoTasks()) {
+            assertThat(task.getPlugins()
+                           .findByName(PLUGIN_NAME))
+                    .isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("add the `protoc` plugin writing next to the compiled JS files")
+    void addPluginToTasks() {
+        var options = McJsOptions.in(project);
+        options.useProtocPluginAt("mc-js-protoc");
+        options.compactOutput = true;
+        options.rawFieldWrites = true;
+        options.lineSeparator = "\r\n";
+        evaluate();
+        var tasks = generateProtoTasks();
+        assertThat(tasks).isNotEmpty();
+        for (var task : tasks) {
+            var mcJs = task.getPlugins()
+                           .getByName(PLUGIN_NAME);
+            assertThat(mcJs.getOutputSubDir())
+                    .isEqualTo("js");
+            assertThat(mcJs.getOptions())
+                    .containsAtLeast(McJsProtocPlugin.COMPACT_PARAMETER,
+                                     McJsProtocPlugin.RAW_FIELD_WRITES_PARAMETER,
+                                     McJsProtocPlugin.BYTES_DECODER_PARAMETER + "=BASE64_JS",
+                                     McJsProtocPlugin.LINE_SEPARATOR_PARAMETER + "=CRLF");
+        }
+    }
+
+    private void evaluate() {
+        ((ProjectInternal) project).evaluate();
+    }
+
+    private Iterable<GenerateProtoTask> generateProtoTasks() {
+        return project.getTasks()
+                      .withType(GenerateProtoTask.class);
+    }
+}
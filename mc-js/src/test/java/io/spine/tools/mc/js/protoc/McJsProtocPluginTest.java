@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.js.protoc;
+
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import io.spine.js.generate.TaskProto;
+import io.spine.tools.js.fs.FileName;
+import io.spine.tools.mc.js.code.BytesDecoder;
+import io.spine.tools.mc.js.code.GenerationOptions;
+import io.spine.tools.mc.js.fs.CompanionFiles;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.js.fs.LibraryFile.INDEX;
+import static io.spine.tools.mc.js.code.text.Parser.OBJECT_PARSER_FILE;
+import static io.spine.tools.mc.js.code.text.Parser.TYPE_PARSERS_FILE;
+
+@DisplayName("`McJsProtocPlugin` should")
+class McJsProtocPluginTest {
+
+    private static final FileDescriptor TASK_FILE = TaskProto.getDescriptor();
+
+    private static CodeGeneratorResponse response = null;
+
+    @BeforeAll
+    static void generate() {
+        response = generate("");
+    }
+
+    @Test
+    @DisplayName("generate the companion file with the parsers and type URL getters")
+    void generateCompanion() {
+        assertThat(response.hasError()).isFalse();
+        var companionName = CompanionFiles.nameOf(FileName.from(TASK_FILE));
+        var content = contentOf(companionName);
+        assertThat(content).contains("require('./task_pb.js');");
+        assertThat(content).contains(".Parser = function()");
+        assertThat(content).contains(".typeUrl = function()");
+    }
+
+    @Test
+    @DisplayName("generate the index file importing the companion files")
+    void generateIndex() {
+        var companionName = CompanionFiles.nameOf(FileName.from(TASK_FILE));
+        var content = contentOf(INDEX.fileName().toString());
+        assertThat(content).contains("require('./" + companionName + "');");
+    }
+
+    @Test
+    @DisplayName("separate the lines with the separator passed as a parameter")
+    void useLineSeparator() {
+        var parameter = McJsProtocPlugin.lineSeparatorParameter("\r\n");
+        var crlfResponse = generate(parameter);
+        var companionName = CompanionFiles.nameOf(FileName.from(TASK_FILE));
+        var content = contentOf(crlfResponse, companionName);
+        assertThat(content).contains("require('./task_pb.js');\r\n");
+        assertThat(content.replace("\r\n", "")).doesNotContain("\n");
+    }
+
+    @Test
+    @DisplayName("accept the parameters obtained for the generation options")
+    void acceptParametersOfOptions() {
+        var options = GenerationOptions.newBuilder()
+                .withCompact(true)
+                .withRawFieldWrites(true)
+                .withBytesDecoder(BytesDecoder.BROWSER)
+                .withLineSeparator("\r\n")
+                .build();
+        var parameters = String.join(",", McJsProtocPlugin.parametersOf(options));
+        var generated = generate(parameters);
+        assertThat(generated.hasError()).isFalse();
+    }
+
+    @Test
+    @DisplayName("import the parsers from the modules passed as parameters")
+    void importParsersFromModules() {
+        var objectParser = "spine-web/client/parser/object-parser.js";
+        var typeParsers = "spine-web/client/parser/type-parsers.js";
+        var parameters = McJsProtocPlugin.OBJECT_PARSER_PARAMETER + '=' + objectParser + ','
+                + McJsProtocPlugin.TYPE_PARSERS_PARAMETER + '=' + typeParsers;
+        var generated = generate(parameters);
+        var companionName = CompanionFiles.nameOf(FileName.from(TASK_FILE));
+        var content = contentOf(generated, companionName);
+        assertThat(content).contains("require('" + objectParser + "')");
+        assertThat(content).contains("require('" + typeParsers + "')");
+        assertThat(content).doesNotContain(OBJECT_PARSER_FILE);
+        assertThat(content).doesNotContain(TYPE_PARSERS_FILE);
+    }
+
+    @Test
+    @DisplayName("report an unknown parameter as an error")
+    void reportUnknownParameter() {
+        var generated = generate("no_such_parameter");
+        assertThat(generated.hasError()).isTrue();
+        assertThat(generated.getError()).contains("no_such_parameter");
+    }
+
+    @Test
+    @DisplayName("report an invalid value of a parameter as an error")
+    void reportInvalidValue() {
+        var parameter = McJsProtocPlugin.KEY_DISPATCH_THRESHOLD_PARAMETER + "=many";
+        var generated = generate(parameter);
+        assertThat(generated.hasError()).isTrue();
+        assertThat(generated.getFileList()).isEmpty();
+    }
+
+    private static CodeGeneratorResponse generate(String parameter) {
+        var files = new LinkedHashSet<FileDescriptor>();
+        collectWithDependencies(TASK_FILE, files);
+        var request = CodeGeneratorRequest.newBuilder()
+                .setParameter(parameter)
+                .addFileToGenerate(TASK_FILE.getName());
+        files.forEach(file -> request.addProtoFile(file.toProto()));
+        return McJsProtocPlugin.generate(request.build());
+    }
+
+    private static String contentOf(String fileName) {
+        return contentOf(response, fileName);
+    }
+
+    private static String contentOf(CodeGeneratorResponse generated, String fileName) {
+        var files = generated.getFileList()
+                            .stream()
+                            .collect(toImmutableMap(CodeGeneratorResponse.File::getName,
+                                                    CodeGeneratorResponse.File::getContent));
+        assertThat(files).containsKey(fileName);
+        return files.get(fileName);
+    }
+
+    /**
+     * Collects the file and its dependencies, so that the dependencies go first.
+     */
+    private static void collectWithDependencies(FileDescriptor file, Set<FileDescriptor> result) {
+        for (var dependency : file.getDependencies()) {
+            collectWithDependencies(dependency, result);
+        }
+        result.add(file);
+    }
+}